@@ -0,0 +1,206 @@
+// Change to your Folder name
+package ______;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Non-interactive analysis of every project file in a directory (.txt input
+ * files and .pert files), for nightly runs over many files.
+ *
+ * Each file is read on its own virtual thread, so slow storage does not hold up
+ * the analysis; PERT itself runs on a fixed pool of CPU threads. A semaphore
+ * bounds the number of files read but not yet reported, so memory stays bounded
+ * however many files the directory holds, and the directory is listed lazily.
+ * One tab-separated summary line per file is written to the report as soon as
+ * the file is done, followed by totals. Requires JDK 21 (virtual threads).
+ * TestCaseRunner calls this class, so the whole tree needs JDK 21; compiler.sh
+ * checks for it.
+ */
+public class BatchRunner {
+    /** Report columns */
+    static final String HEADER = "file\tstatus\tn\tm\tcompletion\tcritical\tread_ms\tpert_ms";
+
+    private final int cpuThreads;
+    private final int maxInFlight;
+
+    // Totals of a run
+    private final AtomicLong files = new AtomicLong(), dags = new AtomicLong(),
+            cycles = new AtomicLong(), errors = new AtomicLong(),
+            vertices = new AtomicLong(), edges = new AtomicLong(),
+            readNanos = new AtomicLong(), pertNanos = new AtomicLong();
+
+    /**
+     * @param cpuThreads number of threads running PERT
+     * @param maxInFlight maximum number of files in memory at once
+     */
+    public BatchRunner(int cpuThreads, int maxInFlight) {
+        if (cpuThreads < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("Invalid number of threads or files in flight.");
+        }
+        this.cpuThreads = cpuThreads;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public BatchRunner() {
+        this(Runtime.getRuntime().availableProcessors(), 2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /** Summary of one file */
+    private static class Summary {
+        String status = "ERROR";
+        int n, m, completionTime, numCritical;
+        long readNanos, pertNanos;
+    }
+
+    /**
+     * Analyses every .txt and .pert file of a directory, writing the report to out.
+     *
+     * @throws IOException if the directory cannot be listed or the report cannot be written
+     */
+    public void run(Path dir, OutputStream out) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        for (AtomicLong total : new AtomicLong[] {files, dags, cycles, errors, vertices, edges, readNanos, pertNanos}) {
+            total.set(0);
+        }
+        TextOutput report = new TextOutput(out);
+        report.write(HEADER).write('\n');
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        ExecutorService cpu = Executors.newFixedThreadPool(cpuThreads);
+        try (ExecutorService io = Executors.newVirtualThreadPerTaskExecutor();
+             DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.{txt,pert}")) {
+            for (Path file : stream) {
+                inFlight.acquire(); // Backpressure: wait until a file in flight is done
+                io.execute(() -> {
+                    try {
+                        Summary s = analyse(file, cpu);
+                        synchronized (report) {
+                            write(report, file, s);
+                        }
+                    } catch (IOException e) {
+                        System.err.println("Error: report could not be written - " + e.getMessage());
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } finally { // Closing the virtual thread executor waits for the last files
+            cpu.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        report.write("# files: ").write(files.get())
+                .write(", DAGs: ").write(dags.get())
+                .write(", cycles: ").write(cycles.get())
+                .write(", errors: ").write(errors.get()).write('\n');
+        report.write("# vertices: ").write(vertices.get())
+                .write(", edges: ").write(edges.get()).write('\n');
+        report.write("# wall: ").write(elapsed / 1000000)
+                .write(" msec, read: ").write(readNanos.get() / 1000000)
+                .write(" msec, pert: ").write(pertNanos.get() / 1000000)
+                .write(" msec, files/s: ").write(elapsed == 0 ? 0 : files.get() * 1000000000L / elapsed).write('\n');
+        report.flush();
+    }
+
+    // Read a file on the calling (virtual) thread and run PERT on the CPU pool
+    private Summary analyse(Path file, ExecutorService cpu) {
+        Summary s = new Summary();
+        try {
+            long t0 = System.nanoTime();
+            CompactGraph g;
+            int[] duration, order = null;
+            if (file.toString().endsWith(".pert")) {
+                PertFile p = PertFile.load(file.toFile());
+                g = p.graph();
+                duration = p.durations();
+                order = p.order();
+            } else {
+                GraphReader reader = GraphReader.read(file.toFile());
+                g = reader.compactGraph();
+                duration = reader.durations();
+            }
+            s.readNanos = System.nanoTime() - t0;
+            s.n = g.size();
+            s.m = g.edgeSize();
+
+            int[] cached = order;
+            CompactPERT p = cpu.submit(() -> {
+                long t1 = System.nanoTime();
+                CompactPERT result = cached != null ? CompactPERT.pert(g, duration, cached) : CompactPERT.pert(g, duration);
+                s.pertNanos = System.nanoTime() - t1;
+                return result;
+            }).get();
+            if (p == null) {
+                s.status = "CYCLE";
+            } else {
+                s.status = "DAG";
+                s.completionTime = p.criticalPath();
+                s.numCritical = p.numCritical();
+            }
+        } catch (ExecutionException e) {
+            s.status = "ERROR " + message(e.getCause());
+        } catch (IOException | RuntimeException e) {
+            s.status = "ERROR " + message(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            s.status = "ERROR interrupted";
+        }
+
+        files.incrementAndGet();
+        if (s.status.equals("DAG")) {
+            dags.incrementAndGet();
+        } else if (s.status.equals("CYCLE")) {
+            cycles.incrementAndGet();
+        } else {
+            errors.incrementAndGet();
+        }
+        vertices.addAndGet(s.n);
+        edges.addAndGet(s.m);
+        readNanos.addAndGet(s.readNanos);
+        pertNanos.addAndGet(s.pertNanos);
+        return s;
+    }
+
+    // Exception message on one line, without tabs
+    private static String message(Throwable e) {
+        String text = e.getClass().getSimpleName() + (e.getMessage() == null ? "" : ": " + e.getMessage());
+        return text.replaceAll("\\s+", " ");
+    }
+
+    private static void write(TextOutput report, Path file, Summary s) throws IOException {
+        report.write(file.getFileName().toString()).write('\t').write(s.status)
+                .write('\t').write(s.n).write('\t').write(s.m)
+                .write('\t').write(s.completionTime).write('\t').write(s.numCritical)
+                .write('\t').write(s.readNanos / 1000000).write('\t').write(s.pertNanos / 1000000)
+                .write('\n');
+    }
+
+    /**
+     * Runs a batch.  Usage: BatchRunner [directory] [report.tsv] [cpuThreads [maxInFlight]]
+     * The report goes to standard output if no report file is given or it is "-".
+     */
+    public static void main(String[] args) throws Exception {
+        Path dir = Paths.get(args.length > 0 ? args[0] : "p4-testcases/");
+        int cpuThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        int maxInFlight = args.length > 3 ? Integer.parseInt(args[3]) : 2 * cpuThreads;
+        BatchRunner runner = new BatchRunner(cpuThreads, maxInFlight);
+        if (args.length > 1 && !args[1].equals("-")) {
+            try (OutputStream out = new FileOutputStream(new File(args[1]))) {
+                runner.run(dir, out);
+            }
+        } else {
+            runner.run(dir, System.out);
+        }
+    }
+}
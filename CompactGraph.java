@@ -0,0 +1,194 @@
+// Change to your Folder name
+package ______;
+
+/**
+ * Immutable compressed-sparse-row (CSR) snapshot of a directed graph.
+ *
+ * Vertices are identified by their index (0 .. n-1, i.e. Vertex.getIndex()).
+ * The outgoing edges of vertex u are stored in outTargets/outWeights at
+ * positions outOffsets[u] .. outOffsets[u+1]-1, and its incoming edges in
+ * inSources/inWeights at positions inOffsets[u] .. inOffsets[u+1]-1.
+ * A snapshot is created with Graph.freeze() and is not affected by later
+ * changes to the graph it was built from.
+ */
+public final class CompactGraph {
+    /** Number of vertices */
+    final int n;
+    /** Number of edges */
+    final int m;
+
+    /** Out-adjacency: offsets (length n+1), edge heads and edge weights (length m) */
+    final int[] outOffsets, outTargets, outWeights;
+
+    /** In-adjacency: offsets (length n+1), edge tails and edge weights (length m) */
+    final int[] inOffsets, inSources, inWeights;
+
+    /**
+     * Precedence types of the out- and in-edges (PERT.FS, SS, FF or SF), parallel
+     * to the weights; null if every edge is finish-to-start
+     */
+    final byte[] outTypes, inTypes;
+
+    /**
+     * Builds the CSR arrays from an edge list given by vertex indices.
+     * Edges with the same tail (head) keep their relative order in the
+     * out (in) adjacency.
+     *
+     * @param n number of vertices
+     * @param m number of edges; only the first m entries of the edge arrays are used
+     * @param from index of the tail of each edge
+     * @param to index of the head of each edge
+     * @param weight weight of each edge
+     */
+    CompactGraph(int n, int m, int[] from, int[] to, int[] weight) {
+        this(n, m, from, to, weight, null);
+    }
+
+    /**
+     * Builds the CSR arrays from an edge list with precedence types.
+     *
+     * @param type precedence type of each edge, or null if all are finish-to-start
+     */
+    CompactGraph(int n, int m, int[] from, int[] to, int[] weight, byte[] type) {
+        this.n = n;
+        this.m = m;
+        outOffsets = new int[n + 1];
+        outTargets = new int[m];
+        outWeights = new int[m];
+        inOffsets = new int[n + 1];
+        inSources = new int[m];
+        inWeights = new int[m];
+        outTypes = type == null ? null : new byte[m];
+        inTypes = type == null ? null : new byte[m];
+
+        // Count degrees, shifted by one so that the prefix sum yields the offsets
+        for (int k = 0; k < m; k++) {
+            outOffsets[from[k] + 1]++;
+            inOffsets[to[k] + 1]++;
+        }
+        for (int u = 0; u < n; u++) {
+            outOffsets[u + 1] += outOffsets[u];
+            inOffsets[u + 1] += inOffsets[u];
+        }
+
+        // Scatter edges, using a cursor per vertex
+        int[] outCursor = new int[n];
+        int[] inCursor = new int[n];
+        System.arraycopy(outOffsets, 0, outCursor, 0, n);
+        System.arraycopy(inOffsets, 0, inCursor, 0, n);
+        for (int k = 0; k < m; k++) {
+            int u = from[k], v = to[k];
+            int p = outCursor[u]++;
+            outTargets[p] = v;
+            outWeights[p] = weight[k];
+            int q = inCursor[v]++;
+            inSources[q] = u;
+            inWeights[q] = weight[k];
+            if (type != null) {
+                outTypes[p] = type[k];
+                inTypes[q] = type[k];
+            }
+        }
+    }
+
+    /**
+     * Wraps existing CSR arrays without copying them. If inOffsets is null,
+     * the in-adjacency is derived from the out-adjacency. All edges are
+     * finish-to-start.
+     */
+    CompactGraph(int n, int[] outOffsets, int[] outTargets, int[] outWeights,
+                 int[] inOffsets, int[] inSources, int[] inWeights) {
+        this.n = n;
+        this.m = outOffsets[n];
+        this.outOffsets = outOffsets;
+        this.outTargets = outTargets;
+        this.outWeights = outWeights;
+        if (inOffsets == null) {
+            inOffsets = new int[n + 1];
+            inSources = new int[m];
+            inWeights = new int[m];
+            for (int k = 0; k < m; k++) {
+                inOffsets[outTargets[k] + 1]++;
+            }
+            for (int u = 0; u < n; u++) {
+                inOffsets[u + 1] += inOffsets[u];
+            }
+            int[] inCursor = new int[n];
+            System.arraycopy(inOffsets, 0, inCursor, 0, n);
+            for (int u = 0; u < n; u++) {
+                for (int k = outOffsets[u], end = outOffsets[u + 1]; k < end; k++) {
+                    int q = inCursor[outTargets[k]]++;
+                    inSources[q] = u;
+                    inWeights[q] = outWeights[k];
+                }
+            }
+        }
+        this.inOffsets = inOffsets;
+        this.inSources = inSources;
+        this.inWeights = inWeights;
+        this.outTypes = null;
+        this.inTypes = null;
+    }
+
+    /**
+     * Creates a snapshot from an edge list given by vertex indices.
+     *
+     * @throws IllegalArgumentException if an endpoint is out of range
+     */
+    public static CompactGraph fromEdges(int n, int m, int[] from, int[] to, int[] weight) {
+        for (int k = 0; k < m; k++) {
+            if (from[k] < 0 || from[k] >= n || to[k] < 0 || to[k] >= n) {
+                throw new IllegalArgumentException("Invalid edge: " + (from[k] + 1) + " " + (to[k] + 1));
+            }
+        }
+        return new CompactGraph(n, m, from, to, weight);
+    }
+
+    /** Number of vertices in graph */
+    public int size() {
+        return n;
+    }
+
+    /** Number of edges in graph */
+    public int edgeSize() {
+        return m;
+    }
+
+    /** Number of outgoing edges of vertex with index u */
+    public int outDegree(int u) {
+        return outOffsets[u + 1] - outOffsets[u];
+    }
+
+    /** Number of incoming edges of vertex with index u */
+    public int inDegree(int u) {
+        return inOffsets[u + 1] - inOffsets[u];
+    }
+
+    /**
+     * Computes a topological order of the vertices using Kahn's algorithm.
+     *
+     * @return the vertex indices in topological order, or null if the graph has a cycle
+     */
+    public int[] topologicalOrder() {
+        int[] inDegree = new int[n];
+        int[] order = new int[n];
+        int head = 0, tail = 0;
+        for (int u = 0; u < n; u++) {
+            inDegree[u] = inOffsets[u + 1] - inOffsets[u];
+            if (inDegree[u] == 0) {
+                order[tail++] = u;
+            }
+        }
+        // order[head..tail) is used as the queue of vertices with no unprocessed predecessor
+        while (head < tail) {
+            int u = order[head++];
+            for (int k = outOffsets[u], end = outOffsets[u + 1]; k < end; k++) {
+                int v = outTargets[k];
+                if (--inDegree[v] == 0) {
+                    order[tail++] = v;
+                }
+            }
+        }
+        return tail == n ? order : null;
+    }
+}
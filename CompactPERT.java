@@ -0,0 +1,275 @@
+// Change to your Folder name
+package ______;
+
+import java.util.List;
+
+/**
+ * PERT (Program Evaluation and Review Technique) analysis running directly on
+ * the CSR arrays of a CompactGraph.
+ *
+ * Results are kept in parallel int arrays indexed by vertex index, so the
+ * forward and backward passes touch only primitive arrays.
+ */
+public class CompactPERT {
+    /** The graph being analysed */
+    final CompactGraph g;
+
+    /** Vertex indices in topological order */
+    int[] order;
+
+    /** Per-vertex duration, earliest start/finish, latest start/finish and slack */
+    final int[] duration, es, ef, ls, lf, slack;
+
+    /** Project completion time (maximum EF) */
+    int completionTime;
+
+    /** Whether edge weights are used as lags with the edge precedence types */
+    boolean lags;
+
+    CompactPERT(CompactGraph g, int[] duration) {
+        this.g = g;
+        this.duration = duration;
+        int n = g.size();
+        es = new int[n];
+        ef = new int[n];
+        ls = new int[n];
+        lf = new int[n];
+        slack = new int[n];
+    }
+
+    /**
+     * Performs the PERT analysis: topological order, forward pass, backward pass
+     * and slack computation.
+     *
+     * @return true if the graph is a DAG, false otherwise
+     */
+    boolean pert() {
+        if (order == null) {
+            order = g.topologicalOrder();
+        }
+        if (order == null) {
+            return false;
+        }
+        forwardPass();
+        backwardPass();
+        calculateSlack();
+        return true;
+    }
+
+    /**
+     * Forward pass: ES is the maximum EF of the predecessors, EF = ES + duration.
+     * Also computes the project completion time.
+     */
+    private void forwardPass() {
+        int maxEF = 0;
+        for (int u : order) {
+            maxEF = Math.max(maxEF, forward(u));
+        }
+        completionTime = maxEF;
+    }
+
+    /**
+     * Computes ES and EF of vertex u from the EF of its predecessors.
+     *
+     * @return EF of u
+     */
+    int forward(int u) {
+        if (lags) {
+            return forwardWithLags(u);
+        }
+        int[] inOffsets = g.inOffsets, inSources = g.inSources;
+        int start = 0;
+        for (int k = inOffsets[u], end = inOffsets[u + 1]; k < end; k++) {
+            start = Math.max(start, ef[inSources[k]]);
+        }
+        es[u] = start;
+        return ef[u] = start + duration[u];
+    }
+
+    /**
+     * Computes ES and EF of vertex u with lags: ES is the largest start allowed
+     * by the incoming edges (see PERT.startAfter), and at least 0.
+     *
+     * @return EF of u
+     */
+    private int forwardWithLags(int u) {
+        int[] inOffsets = g.inOffsets, inSources = g.inSources, inWeights = g.inWeights;
+        byte[] inTypes = g.inTypes;
+        int start = 0, d = duration[u];
+        for (int k = inOffsets[u], end = inOffsets[u + 1]; k < end; k++) {
+            int p = inSources[k], lag = inWeights[k];
+            switch (inTypes == null ? PERT.FS : inTypes[k]) {
+                case PERT.FS: start = Math.max(start, ef[p] + lag); break;
+                case PERT.SS: start = Math.max(start, es[p] + lag); break;
+                case PERT.FF: start = Math.max(start, ef[p] + lag - d); break;
+                default:      start = Math.max(start, es[p] + lag - d); break;
+            }
+        }
+        es[u] = start;
+        return ef[u] = start + d;
+    }
+
+    /**
+     * Backward pass: LF is the minimum LS of the successors (the project
+     * completion time for vertices without successors), LS = LF - duration.
+     */
+    private void backwardPass() {
+        for (int i = order.length - 1; i >= 0; i--) {
+            backward(order[i]);
+        }
+    }
+
+    /** Computes LF and LS of vertex u from the LS of its successors */
+    void backward(int u) {
+        if (lags) {
+            backwardWithLags(u);
+            return;
+        }
+        int[] outOffsets = g.outOffsets, outTargets = g.outTargets;
+        int finish = completionTime;
+        for (int k = outOffsets[u], end = outOffsets[u + 1]; k < end; k++) {
+            finish = Math.min(finish, ls[outTargets[k]]);
+        }
+        lf[u] = finish;
+        ls[u] = finish - duration[u];
+    }
+
+    /**
+     * Computes LF and LS of vertex u with lags: LF is the smallest finish allowed
+     * by the outgoing edges (see PERT.finishBefore), and at most the completion time.
+     */
+    private void backwardWithLags(int u) {
+        int[] outOffsets = g.outOffsets, outTargets = g.outTargets, outWeights = g.outWeights;
+        byte[] outTypes = g.outTypes;
+        int finish = completionTime, d = duration[u];
+        for (int k = outOffsets[u], end = outOffsets[u + 1]; k < end; k++) {
+            int v = outTargets[k], lag = outWeights[k];
+            switch (outTypes == null ? PERT.FS : outTypes[k]) {
+                case PERT.FS: finish = Math.min(finish, ls[v] - lag); break;
+                case PERT.SS: finish = Math.min(finish, ls[v] - lag + d); break;
+                case PERT.FF: finish = Math.min(finish, lf[v] - lag); break;
+                default:      finish = Math.min(finish, lf[v] - lag + d); break;
+            }
+        }
+        lf[u] = finish;
+        ls[u] = finish - d;
+    }
+
+    /** Slack is the difference between LF and EF of each vertex */
+    private void calculateSlack() {
+        for (int u = 0; u < slack.length; u++) {
+            slack[u] = lf[u] - ef[u];
+        }
+    }
+
+    /**
+     * Runs PERT on a frozen graph.
+     *
+     * @param g the graph representing the project tasks and dependencies
+     * @param duration duration of each task, indexed by vertex index
+     * @return the PERT results, or null if the graph is not a DAG
+     * @throws IllegalArgumentException if the graph or the duration array is invalid
+     */
+    public static CompactPERT pert(CompactGraph g, int[] duration) {
+        return pert(g, duration, false);
+    }
+
+    /**
+     * Runs PERT on a frozen graph, using the edge weights as lags with the
+     * precedence types of the edges (see PERT.pert(Graph, int[], boolean)).
+     *
+     * @param lags whether to use the edge weights as lags
+     * @return the PERT results, or null if the graph is not a DAG
+     */
+    public static CompactPERT pert(CompactGraph g, int[] duration, boolean lags) {
+        if (g == null || duration == null || g.size() != duration.length) {
+            throw new IllegalArgumentException("Invalid graph or duration array.");
+        }
+        CompactPERT p = new CompactPERT(g, duration);
+        p.lags = lags;
+        return p.pert() ? p : null;
+    }
+
+    /**
+     * Runs PERT on a frozen graph whose topological order is already known,
+     * e.g. the order cached in a .pert file. The order is not verified.
+     *
+     * @param order vertex indices of g in topological order
+     * @throws IllegalArgumentException if the graph, duration or order array is invalid
+     */
+    public static CompactPERT pert(CompactGraph g, int[] duration, int[] order) {
+        if (g == null || duration == null || order == null
+                || g.size() != duration.length || g.size() != order.length) {
+            throw new IllegalArgumentException("Invalid graph, duration or order array.");
+        }
+        CompactPERT p = new CompactPERT(g, duration);
+        p.order = order;
+        p.pert();
+        return p;
+    }
+
+    /** Vertex indices in the topological order used by the passes */
+    public int[] order() {
+        return order;
+    }
+
+    // Getter for earliest completion time of the task with index u
+    public int ec(int u) {
+        return es[u];
+    }
+
+    // Getter for latest completion time of the task with index u
+    public int lc(int u) {
+        return lf[u];
+    }
+
+    // Getter for slack of the task with index u
+    public int slack(int u) {
+        return slack[u];
+    }
+
+    // Critical path length (project completion time)
+    public int criticalPath() {
+        return completionTime;
+    }
+
+    // Checks if the task with index u is critical (no slack)
+    public boolean critical(int u) {
+        return slack[u] == 0;
+    }
+
+    // Counts the number of critical tasks
+    public int numCritical() {
+        int count = 0;
+        for (int s : slack) {
+            if (s == 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** Writer of the schedule table of this run (see ScheduleWriter) */
+    public ScheduleWriter scheduleWriter() {
+        return new ScheduleWriter(duration, es, lf, slack);
+    }
+
+    /**
+     * Immutable copy of the results, to be read by other threads.
+     *
+     * @param version version number of the snapshot (see SchedulePublisher)
+     */
+    public Schedule snapshot(long version) {
+        return Schedule.of(version, es, lf, slack, completionTime);
+    }
+
+    /**
+     * The k longest source-to-sink paths, bounded by the computed LS values
+     * (see LongestPaths; with lags, the lengths follow the edge offsets).
+     *
+     * @return up to k paths, longest first, with their slack relative to criticalPath()
+     */
+    public List<LongestPaths.Path> longestPaths(int k) {
+        return LongestPaths.top(g, duration, es, ls, completionTime, lags, k);
+    }
+}
@@ -0,0 +1,446 @@
+// Change to your Folder name
+package ______;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Seeded generator of large synthetic projects, for load testing.
+ *
+ * Vertices 0..n-1 (before relabeling) are split into consecutive layers. Edges
+ * go from a vertex to vertices of the next span layers, so the number of layers
+ * sets the depth of the DAG and n / layers its width. With n layers and span 0,
+ * each vertex may depend on any earlier vertex.
+ *
+ * The m edges are spread evenly over the vertices that have later layers, capped
+ * by the number of possible targets, so the out-degrees are known before any edge
+ * is drawn. The targets and the duration of a vertex come from a random stream
+ * seeded by (seed, vertex) alone. Output is therefore written source by source
+ * with memory proportional to n (the relabeling permutation) plus the largest
+ * out-degree, and the same parameters always produce the same project.
+ *
+ * Optionally the vertices are relabeled by a random permutation, so that the
+ * input order is not a topological order, and one cycle is planted to test
+ * cycle handling.
+ */
+public class DAGGenerator {
+    /** Distributions of the task durations, on [minDuration, maxDuration] */
+    public enum Durations {
+        /** Every task takes minDuration */
+        CONSTANT,
+        /** Uniform on [minDuration, maxDuration] */
+        UNIFORM,
+        /** Exponential with mean (maxDuration - minDuration) / 4 above minDuration, capped at maxDuration */
+        EXPONENTIAL
+    }
+
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+    // Salts separating the random streams of a vertex
+    private static final long EDGES = 1, DURATION = 2, PERMUTATION = 3;
+
+    private final int n;
+    private final long m;
+    private final long seed;
+    private int layers;
+    private int span;
+    private Durations durations = Durations.UNIFORM;
+    private int minDuration = 1, maxDuration = 100;
+    private int weight = 1;
+    private boolean cycle;
+    private boolean shuffle;
+
+    // State of the current SplitMix64 stream
+    private long state;
+
+    // Targets of the current vertex, and the hash set used to sample them without repetition
+    private int[] targets = new int[16];
+    private int[] table = new int[32];
+
+    /**
+     * Generator of a project with n tasks and (up to) m dependencies.
+     * By default each vertex is its own layer, spans are unbounded, durations
+     * are uniform on [1, 100], and edge weights are 1.
+     */
+    public DAGGenerator(int n, long m, long seed) {
+        if (n <= 0 || m < 0) {
+            throw new IllegalArgumentException("Invalid size: n = " + n + ", m = " + m);
+        }
+        this.n = n;
+        this.m = m;
+        this.seed = seed;
+        this.layers = n;
+    }
+
+    /** Number of layers (depth of the DAG), between 1 and n */
+    public DAGGenerator layers(int layers) {
+        if (layers < 1 || layers > n) {
+            throw new IllegalArgumentException("Invalid number of layers: " + layers);
+        }
+        this.layers = layers;
+        return this;
+    }
+
+    /** Number of later layers an edge may reach; 0 for all of them */
+    public DAGGenerator span(int span) {
+        if (span < 0) {
+            throw new IllegalArgumentException("Invalid span: " + span);
+        }
+        this.span = span;
+        return this;
+    }
+
+    /** Distribution of the task durations */
+    public DAGGenerator durations(Durations durations, int minDuration, int maxDuration) {
+        if (minDuration < 0 || minDuration > maxDuration) {
+            throw new IllegalArgumentException("Invalid duration range: " + minDuration + " " + maxDuration);
+        }
+        this.durations = durations;
+        this.minDuration = minDuration;
+        this.maxDuration = maxDuration;
+        return this;
+    }
+
+    /** Weight written for every edge */
+    public DAGGenerator weight(int weight) {
+        this.weight = weight;
+        return this;
+    }
+
+    /** Plant one cycle, closing the first edge of the first vertex that has one */
+    public DAGGenerator cycle(boolean cycle) {
+        this.cycle = cycle;
+        return this;
+    }
+
+    /** Relabel the vertices by a random permutation */
+    public DAGGenerator shuffle(boolean shuffle) {
+        this.shuffle = shuffle;
+        return this;
+    }
+
+    /** Number of edges that will be written, including the planted cycle edge */
+    public long edgeSize() {
+        long count = 0;
+        for (int u = 0; u < n; u++) {
+            count += degree(u);
+        }
+        return count + (cycleEdge() != null ? 1 : 0);
+    }
+
+    /**
+     * Writes the project in the text input format: "n m", then one "u v w" line
+     * per edge (1-based), then the n durations.
+     */
+    public void writeText(OutputStream stream) throws IOException {
+        int[] label = permutation();
+        int[] back = cycleEdge();
+        TextOutput out = new TextOutput(stream);
+        out.write(n).write(' ').write(edgeSize()).write('\n');
+        for (int u = 0; u < n; u++) {
+            int from = label(label, u) + 1;
+            int k = sample(u);
+            for (int i = 0; i < k; i++) {
+                out.write(from).write(' ').write(label(label, targets[i]) + 1).write(' ').write(weight).write('\n');
+            }
+            if (back != null && back[0] == u) {
+                out.write(from).write(' ').write(label(label, back[1]) + 1).write(' ').write(weight).write('\n');
+            }
+        }
+        // Durations in label order, 20 per line
+        int[] inverse = inverse(label);
+        for (int v = 0; v < n; v++) {
+            out.write(duration(label(inverse, v)));
+            out.write(v % 20 == 19 || v == n - 1 ? '\n' : ' ');
+        }
+        out.flush();
+    }
+
+    public void writeText(File f) throws IOException {
+        try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(f), 1 << 16)) {
+            writeText(stream);
+        }
+    }
+
+    /**
+     * Writes the project as a .pert file, without the in-adjacency (rebuilt on
+     * load). The topological order is cached unless a cycle is planted.
+     *
+     * @throws IllegalArgumentException if the project has more than Integer.MAX_VALUE edges
+     */
+    public void writePert(File f) throws IOException {
+        long edges = edgeSize();
+        if (edges > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many edges for a .pert file: " + edges);
+        }
+        int[] label = permutation();
+        int[] inverse = inverse(label);
+        int[] back = cycleEdge();
+        try (FileChannel fc = FileChannel.open(f.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            PertFile.Writer out = new PertFile.Writer(fc);
+            out.header(n, (int) edges, back == null ? PertFile.ORDER : 0);
+
+            // Out-adjacency in label order: offsets, targets, weights
+            int offset = 0;
+            out.put(offset);
+            for (int v = 0; v < n; v++) {
+                int u = label(inverse, v);
+                offset += degree(u) + (back != null && back[0] == u ? 1 : 0);
+                out.put(offset);
+            }
+            for (int v = 0; v < n; v++) {
+                int u = label(inverse, v);
+                int k = sample(u);
+                if (back != null && back[0] == u) {
+                    targets[k++] = back[1];
+                }
+                for (int i = 0; i < k; i++) {
+                    targets[i] = label(label, targets[i]);
+                }
+                Arrays.sort(targets, 0, k);
+                for (int i = 0; i < k; i++) {
+                    out.put(targets[i]);
+                }
+            }
+            for (long e = 0; e < edges; e++) {
+                out.put(weight);
+            }
+
+            for (int v = 0; v < n; v++) {
+                out.put(duration(label(inverse, v)));
+            }
+            // Vertices in generation order are topologically sorted
+            if (back == null) {
+                for (int u = 0; u < n; u++) {
+                    out.put(label(label, u));
+                }
+            }
+            out.flush();
+        }
+    }
+
+    // First vertex of layer l
+    private int start(int l) {
+        return (int) ((long) l * n / layers);
+    }
+
+    // Layer of vertex u
+    private int layer(int u) {
+        int l = (int) ((long) u * layers / n);
+        while (l + 1 < layers && start(l + 1) <= u) {
+            l++;
+        }
+        while (start(l) > u) {
+            l--;
+        }
+        return l;
+    }
+
+    // Out-degree of vertex u: its share of m, capped by the number of possible targets
+    private int degree(int u) {
+        int eligible = start(layers - 1);  // vertices outside the last layer
+        if (u >= eligible) {
+            return 0;
+        }
+        long quota = m * (u + 1) / eligible - m * u / eligible;
+        return (int) Math.min(quota, high(u) - low(u));
+    }
+
+    // Range [low, high) of the possible targets of u
+    private int low(int u) {
+        return start(layer(u) + 1);
+    }
+
+    private int high(int u) {
+        int l = layer(u);
+        return span == 0 || l + 1 + span >= layers ? n : start(l + 1 + span);
+    }
+
+    // Draw the targets of u into targets[0..k-1]; returns k
+    private int sample(int u) {
+        int k = degree(u);
+        if (targets.length < k + 1) {
+            targets = new int[Math.max(2 * targets.length, k + 1)];
+        }
+        if (k == 0) {
+            return 0;
+        }
+        seed(u, EDGES);
+        int low = low(u), range = high(u) - low;
+        if (k == range) {
+            for (int i = 0; i < k; i++) {
+                targets[i] = low + i;
+            }
+            return k;
+        }
+        // Floyd's algorithm: k distinct values out of range, with an open-addressing set
+        int capacity = Integer.highestOneBit(Math.max(4 * k, 4) - 1) << 1;
+        if (table.length < capacity) {
+            table = new int[capacity];
+        }
+        Arrays.fill(table, 0, capacity, -1);
+        int count = 0;
+        for (int j = range - k; j < range; j++) {
+            int t = nextInt(j + 1);
+            if (!add(t, capacity)) {
+                t = j;
+                add(t, capacity);
+            }
+            targets[count++] = low + t;
+        }
+        return count;
+    }
+
+    // Add t to the hash set; false if it was already there
+    private boolean add(int t, int capacity) {
+        int mask = capacity - 1;
+        for (int i = (int) (t * GOLDEN >>> 40) & mask; ; i = (i + 1) & mask) {
+            if (table[i] == t) {
+                return false;
+            }
+            if (table[i] == -1) {
+                table[i] = t;
+                return true;
+            }
+        }
+    }
+
+    // Duration of vertex u
+    private int duration(int u) {
+        int range = maxDuration - minDuration;
+        switch (durations) {
+            case UNIFORM:
+                seed(u, DURATION);
+                return minDuration + nextInt(range + 1);
+            case EXPONENTIAL:
+                seed(u, DURATION);
+                double x = -Math.log(1 - nextDouble()) * range / 4;
+                return (int) Math.min(minDuration + (long) x, maxDuration);
+            default:
+                return minDuration;
+        }
+    }
+
+    // The planted back edge {from, to}, or null
+    private int[] cycleEdge() {
+        if (!cycle) {
+            return null;
+        }
+        for (int u = 0; u < n; u++) {
+            if (degree(u) > 0) {
+                sample(u);
+                return new int[] {targets[0], u};
+            }
+        }
+        return null;
+    }
+
+    // Label of vertex u under the permutation, or u itself without one
+    private static int label(int[] permutation, int u) {
+        return permutation == null ? u : permutation[u];
+    }
+
+    // Random relabeling of the vertices, or null
+    private int[] permutation() {
+        if (!shuffle) {
+            return null;
+        }
+        int[] label = new int[n];
+        for (int u = 0; u < n; u++) {
+            label[u] = u;
+        }
+        seed(n, PERMUTATION);
+        for (int i = n - 1; i > 0; i--) {
+            int j = nextInt(i + 1);
+            int t = label[i];
+            label[i] = label[j];
+            label[j] = t;
+        }
+        return label;
+    }
+
+    private static int[] inverse(int[] permutation) {
+        if (permutation == null) {
+            return null;
+        }
+        int[] inverse = new int[permutation.length];
+        for (int u = 0; u < permutation.length; u++) {
+            inverse[permutation[u]] = u;
+        }
+        return inverse;
+    }
+
+    // Start the random stream of (seed, u, salt)
+    private void seed(long u, long salt) {
+        state = mix(seed ^ mix(u * GOLDEN + salt));
+    }
+
+    // SplitMix64
+    private long next() {
+        return mix(state += GOLDEN);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Uniform int in [0, bound)
+    private int nextInt(int bound) {
+        return (int) (((next() >>> 33) * bound) >>> 31);
+    }
+
+    // Uniform double in [0, 1)
+    private double nextDouble() {
+        return (next() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Writes a generated project to a file; .pert files are written in binary.
+     * Usage: DAGGenerator n m seed output [layers [span]] [-cycle] [-shuffle] [-exp]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.out.println("Usage: DAGGenerator n m seed output [layers [span]] [-cycle] [-shuffle] [-exp]");
+            return;
+        }
+        DAGGenerator generator = new DAGGenerator(Integer.parseInt(args[0]), Long.parseLong(args[1]), Long.parseLong(args[2]));
+        int position = 0;
+        for (int i = 4; i < args.length; i++) {
+            switch (args[i]) {
+                case "-cycle":
+                    generator.cycle(true);
+                    break;
+                case "-shuffle":
+                    generator.shuffle(true);
+                    break;
+                case "-exp":
+                    generator.durations(Durations.EXPONENTIAL, 1, 100);
+                    break;
+                default:
+                    if (position++ == 0) {
+                        generator.layers(Integer.parseInt(args[i]));
+                    } else {
+                        generator.span(Integer.parseInt(args[i]));
+                    }
+            }
+        }
+
+        File out = new File(args[3]);
+        long start = System.nanoTime();
+        if (args[3].endsWith(".pert")) {
+            generator.writePert(out);
+        } else {
+            generator.writeText(out);
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.println("Wrote " + out + " (" + (out.length() / 1024) + " KB) in " + (elapsed / 1000000) + " msec.");
+    }
+}
@@ -16,6 +16,9 @@ public class Graph implements Iterable<Graph.Vertex> {
     int n; // number of vertices in the graph
     int m; // number of edges in the graph
     final boolean directed;  // true if graph is directed, false otherwise
+    final Counter version;  // modification counter: bumped by every change to the edges, see version()
+    private CompactGraph frozen;  // snapshot returned by freeze(), valid while version is frozenVersion
+    private long frozenVersion;
 
     /**
      * Nested class to represent a vertex of a graph
@@ -103,6 +106,7 @@ public class Graph implements Iterable<Graph.Vertex> {
 	Vertex to;   // tail vertex
 	int weight;  // weight of edge
 	int name;    // name of edge
+	byte type;   // precedence type of edge: 0 (finish-to-start) unless set, see PERT
 	/**
 	 * Constructor for Edge
 	 * @param u   : Vertex - Vertex from which edge starts
@@ -136,9 +140,26 @@ public class Graph implements Iterable<Graph.Vertex> {
 	public int setWeight(int newWeight) {
 	    int oldWeight = weight;
 	    weight = newWeight;
+	    version.count++;
 	    return oldWeight;
 	}
 
+	/* Get precedence type of edge (PERT.FS, PERT.SS, PERT.FF or PERT.SF) */
+	public int getType() {
+	    return type;
+	}
+
+	/** Set precedence type of edge. Old type is returned */
+	public int setType(int newType) {
+	    if(newType < 0 || newType > 3) {
+		throw new IllegalArgumentException("Invalid edge type: " + newType);
+	    }
+	    int oldType = type;
+	    type = (byte) newType;
+	    version.count++;
+	    return oldType;
+	}
+
 	/** Get name of edge */
 	public int getName() {
 	    return name;
@@ -235,19 +256,29 @@ public class Graph implements Iterable<Graph.Vertex> {
      */
     public Graph(int n) {
 	directed = false;  // default is undirected graph
+	version = new Counter();
 	initialize(n);
     }
 
     public Graph(int n, boolean directed) {
 	this.directed = directed;
+	version = new Counter();
 	initialize(n);
     }
 
+    /** Copy that shares the adjacency lists and the modification counter of g */
     public Graph(Graph g) {
 	this.adjList = g.adjList;
 	this.directed = g.directed;
 	this.n = g.n;
 	this.m = g.m;
+	this.version = g.version;
+    }
+
+    /** Modification counter, shared by a graph and its copies */
+    static class Counter {
+	long count;
+	int names;  // largest edge name used so far; unlike m, never decreases
     }
 
     void initialize(int n) {
@@ -263,6 +294,7 @@ public class Graph implements Iterable<Graph.Vertex> {
     /** add a new edge to graph */
     public Edge addEdge(Vertex from, Vertex to, int weight, int name) {
 	Edge e = new Edge(from, to, weight, name);
+	version.names = Math.max(version.names, name);
 	if(directed) {
 	    adj(from).outEdges.add(e);
             adj(to).inEdges.add(e);
@@ -271,13 +303,15 @@ public class Graph implements Iterable<Graph.Vertex> {
 	    adj(to).outEdges.add(e);
 	}
 	m++;  // Increment edge count
+	version.count++;
 	return e;
     }
 
     /** Add edge by index of vertices */
     public Edge addEdge(int fromIndex, int toIndex, int weight) {
 	m++;
-	Edge e = new Edge(adj(fromIndex).vertex, adj(toIndex).vertex, weight, m);
+	// a fresh name: m can be reused after removeEdge, and Edge.equals compares names
+	Edge e = new Edge(adj(fromIndex).vertex, adj(toIndex).vertex, weight, ++version.names);
 	if(directed) {
 	    adj(fromIndex).outEdges.add(e);
             adj(toIndex).inEdges.add(e);
@@ -285,9 +319,27 @@ public class Graph implements Iterable<Graph.Vertex> {
 	    adj(fromIndex).outEdges.add(e);
 	    adj(toIndex).outEdges.add(e);
 	}
+	version.count++;
 	return e;
     }
 
+    /** Remove an edge from the graph.  Returns false if it was not found. */
+    public boolean removeEdge(Edge e) {
+	boolean removed;
+	if(directed) {
+	    removed = adj(e.from).outEdges.remove(e);
+	    adj(e.to).inEdges.remove(e);
+	} else {
+	    removed = adj(e.from).outEdges.remove(e);
+	    adj(e.to).outEdges.remove(e);
+	}
+	if(removed) {
+	    m--;
+	    version.count++;
+	}
+	return removed;
+    }
+
     /** Number of vertices in graph */
     public int size() {
 	return n;
@@ -311,9 +363,21 @@ public class Graph implements Iterable<Graph.Vertex> {
 		list.outEdges = list.inEdges;
 		list.inEdges = tmp;
 	    }
+	    version.count++;
 	}
     }
 
+    /**
+     * Modification counter of the graph: changes whenever an edge is added or
+     * removed, the graph is reversed, or the weight or type of an edge is set.
+     * Results computed from the graph (e.g. a topological order) can be reused
+     * while it is unchanged. A copy made by Graph(Graph) shares the adjacency
+     * lists and the counter, so a change made through either one is seen by both.
+     */
+    public long version() {
+	return version.count;
+    }
+
     /**
      * Method to create iterator for vertices of graph
      */
@@ -359,6 +423,46 @@ public class Graph implements Iterable<Graph.Vertex> {
 	return edgeArray;
     }
 
+    /** Build an immutable CSR snapshot of the graph.  Applicable to directed graphs only.
+     *  The snapshot is cached, and returned again until the graph is modified.
+     */
+    public CompactGraph freeze() {
+	if(!directed) {
+	    throw new java.lang.UnsupportedOperationException("freeze() requires a directed graph");
+	}
+	if(frozen != null && frozenVersion == version.count) {
+	    return frozen;
+	}
+	// count the edges in the lists, since m is not shared with copies made by Graph(Graph)
+	int edges = 0;
+	for(AdjList list: adjList) {
+	    edges += list.outEdges.size();
+	}
+	int[] from = new int[edges];
+	int[] to = new int[edges];
+	int[] weight = new int[edges];
+	byte[] type = null;  // only allocated if some edge is not finish-to-start
+	int k = 0;
+	for(AdjList list: adjList) {
+	    for(Edge e: list.outEdges) {
+		// use the list's vertex rather than e.from, so that a reversed graph freezes correctly
+		from[k] = list.vertex.getIndex();
+		to[k] = e.otherEnd(list.vertex).getIndex();
+		weight[k] = e.weight;
+		if(e.type != 0) {
+		    if(type == null) {
+			type = new byte[edges];
+		    }
+		    type[k] = e.type;
+		}
+		k++;
+	    }
+	}
+	frozen = new CompactGraph(n, k, from, to, weight, type);
+	frozenVersion = version.count;
+	return frozen;
+    }
+
     /** Iterator class for the vertices of a graph
      */
     private class GraphIterator implements Iterator<Vertex> {
@@ -469,6 +573,29 @@ public class Graph implements Iterable<Graph.Vertex> {
 	}
     }
 
+    /** Primitive variant of Store for algorithms whose vertex attributes are ints.
+     *  Each attribute is a column: an int array indexed by Vertex.getIndex().
+     *  No object is created per vertex.
+     */
+    public class IntStore {
+	int[][] column;
+
+	public IntStore(int columns) {
+	    column = new int[columns][size()];
+	}
+
+	public int get(Vertex u, int c) { return column[c][u.getIndex()]; }
+
+	public int put(Vertex u, int c, int value) {
+	    int oldValue = column[c][u.getIndex()];
+	    column[c][u.getIndex()] = value;
+	    return oldValue;
+	}
+
+	/** Return the array holding attribute c of all vertices */
+	public int[] column(int c) { return column[c]; }
+    }
+
     /** Class to facilitate writing graph algorithms, where a generic class V
      *  is used to store attributes of vertices during the algorithm.
      */
@@ -476,6 +603,7 @@ public class Graph implements Iterable<Graph.Vertex> {
 	public Graph g;
 	Factory vf;
 	Store<V> store;
+	IntStore intStore;
 
 	/** @param: a graph g and a sample node vf used to create additional nodes using the Factory interface
 	 */
@@ -485,13 +613,41 @@ public class Graph implements Iterable<Graph.Vertex> {
 	    store = g.new Store<>(vf);
 	}
 
-	/** Return the object that stores the attributes of vertex u
+	/** @param: a graph g and the number of int attributes stored per vertex.
+	 *  Attributes are kept in an IntStore instead of one Factory object per vertex.
+	 */
+	public GraphAlgorithm(Graph g, int columns) {
+	    this.g = g;
+	    intStore = g.new IntStore(columns);
+	}
+
+	/** Return the object that stores the attributes of vertex u.
+	 *  Algorithms using an IntStore override this, or do not support it.
+	 */
+	public V get(Vertex u) { return store().get(u); }
+
+	/** Return int attribute c of vertex u (algorithms using an IntStore)
 	 */
-	public V get(Vertex u) { return store.get(u); }
+	public int get(Vertex u, int c) { return intStore.get(u, c); }
+
+	/** Set int attribute c of vertex u; the old value is returned
+	 */
+	public int put(Vertex u, int c, int value) { return intStore.put(u, c, value); }
+
+	/** Return the array holding int attribute c of all vertices
+	 */
+	public int[] column(int c) { return intStore.column(c); }
 
 	/** Put the object storing attributes of u in store
 	 */
-	public V put(Vertex u, V value) { return store.put(u, value); }
+	public V put(Vertex u, V value) { return store().put(u, value); }
+
+	private Store<V> store() {
+	    if(store == null) {
+		throw new java.lang.UnsupportedOperationException("attributes are kept in an IntStore: use get(u, c) and put(u, c, value)");
+	    }
+	    return store;
+	}
     }
 
     /** Iterator class to iterate over an array or subarray. Remove is not implemented.
@@ -531,45 +687,4 @@ public class Graph implements Iterable<Graph.Vertex> {
 	}
     }
 
-    /** Timer class for roughly calculating running time of programs
-     *  @author rbk
-     *  Usage:  Timer timer = new Timer();
-     *          timer.start();
-     *          timer.end();
-     *          System.out.println(timer);  // output statistics
-     */
-
-    public static class Timer {
-	long startTime, endTime, elapsedTime, memAvailable, memUsed;
-	boolean ready;
-
-	public Timer() {
-	    startTime = System.currentTimeMillis();
-	    ready = false;
-	}
-
-	public void start() {
-	    startTime = System.currentTimeMillis();
-	    ready = false;
-	}
-
-	public Timer end() {
-	    endTime = System.currentTimeMillis();
-	    elapsedTime = endTime-startTime;
-	    memAvailable = Runtime.getRuntime().totalMemory();
-	    memUsed = memAvailable - Runtime.getRuntime().freeMemory();
-	    ready = true;
-	    return this;
-	}
-
-	public long duration() { if(!ready) { end(); }  return elapsedTime; }
-
-	public long memory()   { if(!ready) { end(); }  return memUsed; }
-
-	public String toString() {
-	    if(!ready) { end(); }
-	    return "Time: " + elapsedTime + " msec.\n" + "Memory: " + (memUsed/1048576) + " MB / " + (memAvailable/1048576) + " MB.";
-	}
-    }
-
 }
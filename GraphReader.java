@@ -0,0 +1,277 @@
+// Change to your Folder name
+package ______;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/**
+ * Byte-level reader for project files in the text format used by
+ * Graph.readGraph followed by the task durations:
+ *
+ *     n m
+ *     u1 v1 w1 ... um vm wm
+ *     d1 ... dn
+ *
+ * Integers are tokenized directly from a reusable byte array instead of going
+ * through the regular expressions of java.util.Scanner. Large files are
+ * memory-mapped and copied out of the mapping in bulk, other input is read
+ * through the channel into the same array. The edges and durations are
+ * collected in a single pass into int arrays, from which a Graph or a
+ * CompactGraph can be built.
+ */
+public class GraphReader {
+    /** Files of at least this many bytes are memory-mapped */
+    static final long MAP_THRESHOLD = 16L << 20;
+
+    /** Size of each mapped region of a large file */
+    static final long MAP_WINDOW = 1L << 30;
+
+    /** Size of the read buffer for streams and small files */
+    static final int BUFFER_SIZE = 1 << 16;
+
+    // Input state: bytes chunk[position..limit) have not been consumed yet
+    private ReadableByteChannel channel;
+    private FileChannel file;
+    private long fileSize, mapPosition;
+    private ByteBuffer mapped;
+    private final byte[] chunk = new byte[BUFFER_SIZE];
+    private int position, limit;
+
+    // Parsed project
+    int n, m;
+    int[] from, to, weight, duration;
+
+    // Statistics
+    long bytes, nanos;
+
+    private GraphReader() {
+    }
+
+    /**
+     * Reads a project from a file, memory-mapping it if it is large.
+     *
+     * @throws IOException if the file cannot be read
+     * @throws NoSuchElementException if the input ends early
+     * @throws InputMismatchException if the input contains something other than integers
+     */
+    public static GraphReader read(File f) throws IOException {
+        try (FileChannel fc = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+            GraphReader r = new GraphReader();
+            r.fileSize = fc.size();
+            if (r.fileSize >= MAP_THRESHOLD) {
+                r.file = fc;
+            } else {
+                r.channel = fc;
+            }
+            r.parse();
+            return r;
+        }
+    }
+
+    /**
+     * Reads a project from a stream. The stream is not closed.
+     *
+     * @throws IOException if the stream cannot be read
+     * @throws NoSuchElementException if the input ends early
+     * @throws InputMismatchException if the input contains something other than integers
+     */
+    public static GraphReader read(InputStream in) throws IOException {
+        GraphReader r = new GraphReader();
+        r.channel = Channels.newChannel(in);
+        r.parse();
+        return r;
+    }
+
+    // Parse "n m", m edges and n durations
+    private void parse() throws IOException {
+        long start = System.nanoTime();
+        n = nextInt();
+        m = nextInt();
+        if (n < 0 || m < 0) {
+            throw new IllegalArgumentException("Invalid graph size: " + n + " " + m);
+        }
+        from = new int[m];
+        to = new int[m];
+        weight = new int[m];
+        for (int k = 0; k < m; k++) {
+            from[k] = nextInt() - 1;
+            to[k] = nextInt() - 1;
+            weight[k] = nextInt();
+        }
+        duration = new int[n];
+        for (int i = 0; i < n; i++) {
+            if (!skipWhitespace()) {
+                throw new IllegalArgumentException("Duration array size mismatch.");
+            }
+            duration[i] = nextInt();
+        }
+        nanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Feeds a task stream (see StreamingPERT) to p, one task at a time, without
+     * keeping the tasks. The stream is not closed.
+     *
+     * @return the number of tasks read
+     * @throws IOException if the stream cannot be read, or p cannot write its log
+     * @throws NoSuchElementException if the input ends inside a task
+     * @throws InputMismatchException if the input contains something other than integers
+     */
+    public static long stream(InputStream in, StreamingPERT p) throws IOException {
+        GraphReader r = new GraphReader();
+        r.channel = Channels.newChannel(in);
+        long start = System.nanoTime(), count = 0;
+        int[] predecessors = new int[16];
+        while (r.skipWhitespace()) {
+            int id = r.nextInt(), duration = r.nextInt(), successors = r.nextInt(), k = r.nextInt();
+            if (k < 0) {
+                throw new IllegalArgumentException("Invalid predecessor count of task " + id + ": " + k);
+            }
+            if (k > predecessors.length) {
+                predecessors = new int[Math.max(k, 2 * predecessors.length)];
+            }
+            for (int i = 0; i < k; i++) {
+                predecessors[i] = r.nextInt();
+                if (predecessors[i] < 0) {
+                    throw new IllegalArgumentException("Invalid predecessor of task " + id + ": " + predecessors[i]);
+                }
+            }
+            p.addTask(id, duration, successors, predecessors, k);
+            count++;
+        }
+        r.nanos = System.nanoTime() - start;
+        return count;
+    }
+
+    // Refill chunk with unread input; returns false at end of input
+    private boolean fill() throws IOException {
+        position = limit = 0;
+        if (file != null) {
+            if (mapped == null || !mapped.hasRemaining()) {
+                if (mapPosition >= fileSize) {
+                    return false;
+                }
+                long length = Math.min(MAP_WINDOW, fileSize - mapPosition);
+                mapped = file.map(FileChannel.MapMode.READ_ONLY, mapPosition, length);
+                mapPosition += length;
+            }
+            limit = Math.min(chunk.length, mapped.remaining());
+            mapped.get(chunk, 0, limit);
+        } else {
+            ByteBuffer target = ByteBuffer.wrap(chunk);
+            int count = channel.read(target);
+            while (count == 0) {
+                count = channel.read(target);
+            }
+            if (count < 0) {
+                return false;
+            }
+            limit = count;
+        }
+        bytes += limit;
+        return true;
+    }
+
+    // Skip blanks; returns false at end of input
+    private boolean skipWhitespace() throws IOException {
+        while (true) {
+            while (position < limit) {
+                if (chunk[position] > ' ') {
+                    return true;
+                }
+                position++;
+            }
+            if (!fill()) {
+                return false;
+            }
+        }
+    }
+
+    // Read the next (optionally signed) decimal integer
+    private int nextInt() throws IOException {
+        if (!skipWhitespace()) {
+            throw new NoSuchElementException();
+        }
+        boolean negative = false;
+        byte c = chunk[position++];
+        if (c == '-') {
+            negative = true;
+            if (position == limit && !fill()) {
+                throw new InputMismatchException("-");
+            }
+            c = chunk[position++];
+        }
+        if (c < '0' || c > '9') {
+            throw new InputMismatchException("Unexpected character: " + (char) c);
+        }
+        long value = c - '0';
+        while (position < limit || fill()) {
+            c = chunk[position];
+            if (c < '0' || c > '9') {
+                if (c > ' ') {
+                    throw new InputMismatchException("Unexpected character: " + (char) c);
+                }
+                break;
+            }
+            position++;
+            value = value * 10 + (c - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw new InputMismatchException("Integer out of range");
+            }
+        }
+        if (negative) {
+            value = -value;
+        }
+        if (value > Integer.MAX_VALUE) {
+            throw new InputMismatchException("Integer out of range");
+        }
+        return (int) value;
+    }
+
+    /** Build a Graph from the edges read, with edge i named i as in Graph.readGraph */
+    public Graph graph(boolean directed) {
+        Graph g = new Graph(n, directed);
+        for (int k = 0; k < m; k++) {
+            g.addEdge(g.getVertex(from[k] + 1), g.getVertex(to[k] + 1), weight[k], k + 1);
+        }
+        return g;
+    }
+
+    /** Build a directed Graph from the edges read */
+    public Graph graph() {
+        return graph(true);
+    }
+
+    /** Build a CSR snapshot directly from the edges read */
+    public CompactGraph compactGraph() {
+        return CompactGraph.fromEdges(n, m, from, to, weight);
+    }
+
+    /** Durations of the tasks, indexed by vertex index */
+    public int[] durations() {
+        return duration;
+    }
+
+    /** Number of bytes read */
+    public long bytes() {
+        return bytes;
+    }
+
+    /** Parsing throughput in MB/s */
+    public double throughput() {
+        return nanos == 0 ? 0 : (bytes / 1048576.0) / (nanos / 1e9);
+    }
+
+    public String toString() {
+        return "Read n: " + n + ", m: " + m + ", " + (bytes / 1024) + " KB in "
+                + (nanos / 1000000) + " msec. (" + String.format("%.1f", throughput()) + " MB/s)";
+    }
+}
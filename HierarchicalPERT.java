@@ -0,0 +1,690 @@
+// Change to your Folder name
+package ______;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+
+/**
+ * PERT on a graph partitioned into subprojects joined by interface edges.
+ *
+ * A vertex with an incoming (outgoing) interface edge is an entry (exit) port of
+ * its subproject. Each subproject is first analysed on its own, in parallel:
+ * its internal topological order, the local ES of each vertex over internal
+ * edges only, the longest internal tail after each vertex, and a summary of the
+ * longest internal paths between its ports. The ports, the summary edges and the
+ * interface edges form a small condensed graph, on which the ES and LS of every
+ * port are solved exactly. The times are then pushed back down: each subproject
+ * runs its forward and backward passes seeded with the times of its ports, again
+ * in parallel.
+ *
+ * Edges of the condensed graph are start-to-start offsets: for a summary edge
+ * x -> y the durations of the longest internal path from x up to (excluding) y,
+ * and for an interface edge p -> b the duration of p. Building the summary costs
+ * O(m_s) per port of a subproject with m_s internal edges, so the decomposition
+ * pays off when the subprojects are joined by few interface edges.
+ *
+ * The condensed graph is built once: a change of duration changes the weights of
+ * its edges, not which ports are connected. After updateDuration, only the
+ * subproject of the task is summarized again and only its summary edges and the
+ * interface edges leaving its ports are reweighted in place; the condensed graph
+ * is then solved again, and only the subprojects whose port times (or the
+ * completion time) changed are pushed down.
+ *
+ * Every edge is taken as finish-to-start without lag, as by CompactPERT.pert(g,
+ * duration). Graphs with other precedence types are rejected: they are meant for
+ * CompactPERT.pert(g, duration, true), whose offsets the summary does not model.
+ */
+public class HierarchicalPERT {
+    /** Marker of unreachable vertices in the summary searches */
+    private static final int NONE = Integer.MIN_VALUE;
+
+    private final CompactGraph g;
+    private final int[] duration;
+    private final ForkJoinPool pool;
+
+    /** Subproject of each vertex, numbered from 0 */
+    private final int[] label;
+    private final Subproject[] subprojects;
+
+    /** Index of each vertex among the ports, or -1; ports[i] is the vertex of port i */
+    private final int[] portIndex;
+    private final int[] ports;
+
+    /** ES and LS of each port, as solved on the condensed graph */
+    private final int[] portStart, portLatestStart;
+
+    /** ES over internal edges only, and the longest internal path after each vertex */
+    private final int[] localStart, tail;
+
+    /** Position of each vertex in the internal order of its subproject */
+    private final int[] localIndex;
+
+    /** The results, kept up to date by updateDuration */
+    private final CompactPERT p;
+
+    /** The condensed graph over the ports, and its topological order */
+    private CompactGraph condensed;
+    private int[] condensedOrder;
+
+    /**
+     * Positions in the out- and in-adjacency of the condensed graph of each of its
+     * edges, numbered as built: the summary edges of each subproject from
+     * summaryBase[s], then the interface edges of each port from interfaceBase[x]
+     */
+    private int[] outPosition, inPosition;
+    private int[] summaryBase, interfaceBase;
+
+    private HierarchicalPERT(CompactGraph g, int[] duration, int[] label, int count, ForkJoinPool pool) {
+        this.g = g;
+        this.duration = duration.clone();
+        this.pool = pool;
+        this.label = label;
+        int n = g.size();
+        p = new CompactPERT(g, this.duration);
+        localStart = new int[n];
+        tail = new int[n];
+        localIndex = new int[n];
+
+        // Members of each subproject by counting sort of the labels
+        int[] offsets = new int[count + 1];
+        for (int s : label) {
+            offsets[s + 1]++;
+        }
+        for (int s = 0; s < count; s++) {
+            offsets[s + 1] += offsets[s];
+        }
+        int[] members = new int[n];
+        int[] cursor = Arrays.copyOf(offsets, count);
+        for (int u = 0; u < n; u++) {
+            members[cursor[label[u]]++] = u;
+        }
+        subprojects = new Subproject[count];
+        for (int s = 0; s < count; s++) {
+            subprojects[s] = new Subproject(Arrays.copyOfRange(members, offsets[s], offsets[s + 1]));
+        }
+
+        // Ports: vertices with an interface edge
+        portIndex = new int[n];
+        Arrays.fill(portIndex, -1);
+        int portCount = 0;
+        for (int u = 0; u < n; u++) {
+            if (hasInterfaceEdge(u, g.inOffsets, g.inSources) || hasInterfaceEdge(u, g.outOffsets, g.outTargets)) {
+                portIndex[u] = portCount++;
+            }
+        }
+        ports = new int[portCount];
+        for (int u = 0; u < n; u++) {
+            if (portIndex[u] >= 0) {
+                ports[portIndex[u]] = u;
+            }
+        }
+        portStart = new int[portCount];
+        portLatestStart = new int[portCount];
+    }
+
+    private boolean hasInterfaceEdge(int u, int[] offsets, int[] adjacent) {
+        for (int k = offsets[u], end = offsets[u + 1]; k < end; k++) {
+            if (label[adjacent[k]] != label[u]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isEntry(int u) {
+        return portIndex[u] >= 0 && hasInterfaceEdge(u, g.inOffsets, g.inSources);
+    }
+
+    /**
+     * Runs PERT by subprojects.
+     *
+     * @param label subproject of each vertex, in [0, n), or null for the weakly
+     *              connected components of g
+     * @param pool the pool analysing the subprojects
+     * @return the hierarchical PERT, or null if the graph is not a DAG
+     * @throws IllegalArgumentException if the graph, duration or label array is invalid,
+     *         or the graph has edges that are not finish-to-start
+     */
+    public static HierarchicalPERT pert(CompactGraph g, int[] duration, int[] label, ForkJoinPool pool) {
+        if (g == null || duration == null || g.size() != duration.length
+                || (label != null && label.length != g.size()) || pool == null) {
+            throw new IllegalArgumentException("Invalid graph, duration or label array.");
+        }
+        if (g.outTypes != null) {
+            throw new IllegalArgumentException("Lags are not supported: the graph has edges that are not finish-to-start.");
+        }
+        int n = g.size();
+        int[] dense = new int[n];
+        int count = 0;
+        if (label == null) {
+            count = components(g, dense);
+        } else {
+            // Number the subprojects densely, in order of first appearance
+            int[] number = new int[n];
+            Arrays.fill(number, -1);
+            for (int u = 0; u < n; u++) {
+                if (label[u] < 0 || label[u] >= n) {
+                    throw new IllegalArgumentException("Invalid label of task " + (u + 1) + ": " + label[u]);
+                }
+                if (number[label[u]] < 0) {
+                    number[label[u]] = count++;
+                }
+                dense[u] = number[label[u]];
+            }
+        }
+        HierarchicalPERT h = new HierarchicalPERT(g, duration, dense, count, pool);
+        boolean[] all = new boolean[count];
+        Arrays.fill(all, true);
+        return h.solve(all) ? h : null;
+    }
+
+    /** Runs PERT by the weakly connected components of g, on the common pool */
+    public static HierarchicalPERT pert(CompactGraph g, int[] duration) {
+        return pert(g, duration, null, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs PERT by subprojects on a Graph, on the common pool.
+     *
+     * @param label subproject of each vertex, indexed by Vertex.getIndex(), or null
+     */
+    public static HierarchicalPERT pert(Graph g, int[] duration, int[] label) {
+        return pert(g.freeze(), duration, label, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Labels the weakly connected components of g, by union-find with path halving.
+     *
+     * @param label receives the component of each vertex, numbered from 0
+     * @return the number of components
+     */
+    static int components(CompactGraph g, int[] label) {
+        int n = g.size();
+        int[] parent = new int[n];
+        for (int u = 0; u < n; u++) {
+            parent[u] = u;
+        }
+        for (int u = 0; u < n; u++) {
+            for (int k = g.outOffsets[u], end = g.outOffsets[u + 1]; k < end; k++) {
+                int a = find(parent, u), b = find(parent, g.outTargets[k]);
+                if (a != b) {
+                    parent[Math.max(a, b)] = Math.min(a, b);
+                }
+            }
+        }
+        int count = 0;
+        for (int u = 0; u < n; u++) {
+            int root = find(parent, u);
+            label[u] = root == u ? count++ : label[root]; // The root is the smallest index
+        }
+        return count;
+    }
+
+    private static int find(int[] parent, int u) {
+        while (parent[u] != u) {
+            parent[u] = parent[parent[u]];
+            u = parent[u];
+        }
+        return u;
+    }
+
+    /**
+     * Changes the duration of a task and updates the results, summarizing only its
+     * subproject again. The duration array given to pert() is not changed.
+     */
+    public void updateDuration(int u, int d) {
+        duration[u] = d;
+        boolean[] dirty = new boolean[subprojects.length];
+        dirty[label[u]] = true;
+        solve(dirty);
+    }
+
+    /**
+     * Summarizes the dirty subprojects, solves the condensed graph and pushes the
+     * port times down to the subprojects that need it.
+     *
+     * @return false if a subproject or the condensed graph has a cycle
+     */
+    private boolean solve(boolean[] dirty) {
+        forEach(dirty, s -> subprojects[s].summarize());
+        for (Subproject sp : subprojects) {
+            if (!sp.acyclic) {
+                return false;
+            }
+        }
+
+        if (condensed == null) {
+            if (!buildCondensed()) {
+                return false;
+            }
+        } else {
+            for (int s = 0; s < subprojects.length; s++) {
+                if (dirty[s]) {
+                    reweight(s);
+                }
+            }
+        }
+        int[] order = condensedOrder;
+
+        // Forward on the condensed graph, then down to the subprojects whose entries moved
+        boolean[] forward = dirty.clone();
+        for (int x : order) {
+            int start = localStart[ports[x]];
+            for (int k = condensed.inOffsets[x], end = condensed.inOffsets[x + 1]; k < end; k++) {
+                start = Math.max(start, portStart[condensed.inSources[k]] + condensed.inWeights[k]);
+            }
+            if (start != portStart[x]) {
+                portStart[x] = start;
+                forward[label[ports[x]]] = true;
+            }
+        }
+        forEach(forward, s -> subprojects[s].forward());
+        int completionTime = 0;
+        for (Subproject sp : subprojects) {
+            completionTime = Math.max(completionTime, sp.maxFinish);
+        }
+        boolean moved = completionTime != p.completionTime;
+        p.completionTime = completionTime;
+
+        // Backward on the condensed graph, then down to the subprojects whose exits moved
+        boolean[] backward = dirty.clone();
+        for (int i = order.length - 1; i >= 0; i--) {
+            int x = order[i], u = ports[x];
+            int start = completionTime - tail[u] - duration[u];
+            for (int k = condensed.outOffsets[x], end = condensed.outOffsets[x + 1]; k < end; k++) {
+                start = Math.min(start, portLatestStart[condensed.outTargets[k]] - condensed.outWeights[k]);
+            }
+            if (start != portLatestStart[x]) {
+                portLatestStart[x] = start;
+                backward[label[u]] = true;
+            }
+        }
+        for (int s = 0; s < subprojects.length; s++) {
+            backward[s] |= moved || forward[s];
+        }
+        forEach(backward, s -> subprojects[s].backward());
+        return true;
+    }
+
+    /**
+     * Builds the condensed graph: summary edges and interface edges between ports.
+     *
+     * @return false if it has a cycle
+     */
+    private boolean buildCondensed() {
+        int count = 0;
+        for (Subproject sp : subprojects) {
+            count += sp.summaryCount;
+        }
+        for (int u : ports) {
+            for (int k = g.outOffsets[u], end = g.outOffsets[u + 1]; k < end; k++) {
+                if (label[g.outTargets[k]] != label[u]) {
+                    count++;
+                }
+            }
+        }
+        int[] from = new int[count], to = new int[count], weight = new int[count];
+        summaryBase = new int[subprojects.length];
+        interfaceBase = new int[ports.length];
+        int e = 0;
+        for (int s = 0; s < subprojects.length; s++) {
+            Subproject sp = subprojects[s];
+            summaryBase[s] = e;
+            for (int i = 0; i < sp.summaryCount; i++, e++) {
+                from[e] = portIndex[sp.summaryFrom[i]];
+                to[e] = portIndex[sp.summaryTo[i]];
+                weight[e] = sp.summaryWeight[i];
+            }
+        }
+        for (int u : ports) {
+            interfaceBase[portIndex[u]] = e;
+            for (int k = g.outOffsets[u], end = g.outOffsets[u + 1]; k < end; k++) {
+                int v = g.outTargets[k];
+                if (label[v] != label[u]) {
+                    from[e] = portIndex[u];
+                    to[e] = portIndex[v];
+                    weight[e] = duration[u];
+                    e++;
+                }
+            }
+        }
+        condensed = new CompactGraph(ports.length, count, from, to, weight);
+
+        // Edges with the same tail (head) keep their relative order in the CSR arrays
+        int n = ports.length;
+        int[] outCursor = Arrays.copyOf(condensed.outOffsets, n);
+        int[] inCursor = Arrays.copyOf(condensed.inOffsets, n);
+        outPosition = new int[count];
+        inPosition = new int[count];
+        for (int k = 0; k < count; k++) {
+            outPosition[k] = outCursor[from[k]]++;
+            inPosition[k] = inCursor[to[k]]++;
+        }
+        condensedOrder = condensed.topologicalOrder();
+        return condensedOrder != null;
+    }
+
+    /**
+     * Sets the weights of the summary edges of subproject s, and of the interface
+     * edges leaving its ports, in the condensed graph
+     */
+    private void reweight(int s) {
+        Subproject sp = subprojects[s];
+        for (int i = 0; i < sp.summaryCount; i++) {
+            setWeight(summaryBase[s] + i, sp.summaryWeight[i]);
+        }
+        for (int u : sp.vertices) {
+            if (portIndex[u] < 0) {
+                continue;
+            }
+            int e = interfaceBase[portIndex[u]];
+            for (int k = g.outOffsets[u], end = g.outOffsets[u + 1]; k < end; k++) {
+                if (label[g.outTargets[k]] != label[u]) {
+                    setWeight(e++, duration[u]);
+                }
+            }
+        }
+    }
+
+    private void setWeight(int e, int weight) {
+        condensed.outWeights[outPosition[e]] = weight;
+        condensed.inWeights[inPosition[e]] = weight;
+    }
+
+    // Run body on the selected subprojects in parallel, batching small ones
+    private void forEach(boolean[] selected, IntConsumer body) {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        int first = 0, size = 0;
+        for (int s = 0; s <= subprojects.length; s++) {
+            if (s == subprojects.length || size >= ParallelPERT.GRAIN) {
+                int lo = first, hi = s;
+                if (size > 0) {
+                    tasks.add(pool.submit(() -> {
+                        for (int t = lo; t < hi; t++) {
+                            if (selected[t]) {
+                                body.accept(t);
+                            }
+                        }
+                    }));
+                }
+                first = s;
+                size = 0;
+            }
+            if (s < subprojects.length && selected[s]) {
+                size += subprojects[s].vertices.length;
+            }
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+
+    /** One subproject: its vertices and the summary of the paths between its ports */
+    private class Subproject {
+        /** Vertices, in topological order of the internal edges after summarize() */
+        final int[] vertices;
+        boolean acyclic = true;
+
+        /** Whether vertices is sorted; the internal edges never change, so it stays sorted */
+        boolean sorted;
+
+        /** Summary edges x -> y with the start-to-start offset of y after x */
+        int[] summaryFrom = new int[0], summaryTo = new int[0], summaryWeight = new int[0];
+        int summaryCount;
+
+        /** Largest EF of the subproject, set by forward() */
+        int maxFinish;
+
+        Subproject(int[] vertices) {
+            this.vertices = vertices;
+        }
+
+        /**
+         * Sorts the vertices (the first time), computes local ES and tails, and the
+         * summary edges. Since the order is kept, summarizing again finds the same
+         * summary edges in the same order, with new weights.
+         */
+        void summarize() {
+            int size = vertices.length;
+            int[] inOffsets = g.inOffsets, inSources = g.inSources;
+            int[] outOffsets = g.outOffsets, outTargets = g.outTargets;
+            if (!sorted) {
+                sort();
+                if (!acyclic) {
+                    return;
+                }
+            }
+
+            for (int u : vertices) {
+                int start = 0;
+                for (int k = inOffsets[u], end = inOffsets[u + 1]; k < end; k++) {
+                    int q = inSources[k];
+                    if (label[q] == label[u]) {
+                        start = Math.max(start, localStart[q] + duration[q]);
+                    }
+                }
+                localStart[u] = start;
+            }
+            for (int i = size - 1; i >= 0; i--) {
+                int u = vertices[i], after = 0;
+                for (int k = outOffsets[u], end = outOffsets[u + 1]; k < end; k++) {
+                    int v = outTargets[k];
+                    if (label[v] == label[u]) {
+                        after = Math.max(after, duration[v] + tail[v]);
+                    }
+                }
+                tail[u] = after;
+            }
+
+            // Longest internal paths from each entry to the ports after it, and
+            // to each exit from the ports before it (entries are already covered)
+            summaryCount = 0;
+            int[] dist = null;
+            for (int i = 0; i < size; i++) {
+                int b = vertices[i];
+                if (portIndex[b] < 0) {
+                    continue;
+                }
+                if (dist == null) {
+                    dist = new int[size];
+                }
+                if (isEntry(b)) {
+                    Arrays.fill(dist, i, size, NONE);
+                    dist[i] = 0;
+                    for (int j = i; j < size; j++) {
+                        int u = vertices[j];
+                        if (dist[j] == NONE) {
+                            continue;
+                        }
+                        if (j != i && portIndex[u] >= 0) {
+                            addSummary(b, u, dist[j]);
+                        }
+                        for (int k = outOffsets[u], end = outOffsets[u + 1]; k < end; k++) {
+                            int v = outTargets[k];
+                            if (label[v] == label[u]) {
+                                dist[localIndex[v]] = Math.max(dist[localIndex[v]], dist[j] + duration[u]);
+                            }
+                        }
+                    }
+                }
+                if (hasInterfaceEdge(b, outOffsets, outTargets)) {
+                    Arrays.fill(dist, 0, i + 1, NONE);
+                    dist[i] = 0;
+                    for (int j = i; j >= 0; j--) {
+                        int u = vertices[j];
+                        if (dist[j] == NONE) {
+                            continue;
+                        }
+                        if (j != i && portIndex[u] >= 0 && !isEntry(u)) {
+                            addSummary(u, b, dist[j]);
+                        }
+                        for (int k = inOffsets[u], end = inOffsets[u + 1]; k < end; k++) {
+                            int q = inSources[k];
+                            if (label[q] == label[u]) {
+                                dist[localIndex[q]] = Math.max(dist[localIndex[q]], dist[j] + duration[q]);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        /** Sorts the vertices by Kahn's algorithm over the internal edges, reusing localIndex as in-degree */
+        private void sort() {
+            int size = vertices.length;
+            int[] inOffsets = g.inOffsets, inSources = g.inSources;
+            int[] outOffsets = g.outOffsets, outTargets = g.outTargets;
+            int[] order = new int[size];
+            int head = 0, found = 0;
+            for (int u : vertices) {
+                int degree = 0;
+                for (int k = inOffsets[u], end = inOffsets[u + 1]; k < end; k++) {
+                    if (label[inSources[k]] == label[u]) {
+                        degree++;
+                    }
+                }
+                localIndex[u] = degree;
+                if (degree == 0) {
+                    order[found++] = u;
+                }
+            }
+            while (head < found) {
+                int u = order[head++];
+                for (int k = outOffsets[u], end = outOffsets[u + 1]; k < end; k++) {
+                    int v = outTargets[k];
+                    if (label[v] == label[u] && --localIndex[v] == 0) {
+                        order[found++] = v;
+                    }
+                }
+            }
+            acyclic = found == size;
+            if (!acyclic) {
+                return;
+            }
+            sorted = true;
+            System.arraycopy(order, 0, vertices, 0, size);
+            for (int i = 0; i < size; i++) {
+                localIndex[vertices[i]] = i;
+            }
+        }
+
+        private void addSummary(int x, int y, int weight) {
+            if (summaryCount == summaryFrom.length) {
+                int capacity = Math.max(4, 2 * summaryCount);
+                summaryFrom = Arrays.copyOf(summaryFrom, capacity);
+                summaryTo = Arrays.copyOf(summaryTo, capacity);
+                summaryWeight = Arrays.copyOf(summaryWeight, capacity);
+            }
+            summaryFrom[summaryCount] = x;
+            summaryTo[summaryCount] = y;
+            summaryWeight[summaryCount++] = weight;
+        }
+
+        /** Forward pass seeded with the ES of the ports */
+        void forward() {
+            int[] inOffsets = g.inOffsets, inSources = g.inSources;
+            int max = 0;
+            for (int u : vertices) {
+                int start = portIndex[u] >= 0 ? portStart[portIndex[u]] : 0;
+                for (int k = inOffsets[u], end = inOffsets[u + 1]; k < end; k++) {
+                    int q = inSources[k];
+                    if (label[q] == label[u]) {
+                        start = Math.max(start, p.ef[q]);
+                    }
+                }
+                p.es[u] = start;
+                p.ef[u] = start + duration[u];
+                max = Math.max(max, p.ef[u]);
+            }
+            maxFinish = max;
+        }
+
+        /** Backward pass seeded with the LS of the ports, and slack */
+        void backward() {
+            int[] outOffsets = g.outOffsets, outTargets = g.outTargets;
+            for (int i = vertices.length - 1; i >= 0; i--) {
+                int u = vertices[i];
+                int finish = portIndex[u] >= 0 ? portLatestStart[portIndex[u]] + duration[u] : p.completionTime;
+                for (int k = outOffsets[u], end = outOffsets[u + 1]; k < end; k++) {
+                    int v = outTargets[k];
+                    if (label[v] == label[u]) {
+                        finish = Math.min(finish, p.ls[v]);
+                    }
+                }
+                p.lf[u] = finish;
+                p.ls[u] = finish - duration[u];
+                p.slack[u] = finish - p.ef[u];
+            }
+        }
+    }
+
+    /**
+     * The results, updated in place by updateDuration. Its order() is null, since
+     * the subprojects are ordered separately.
+     */
+    public CompactPERT result() {
+        return p;
+    }
+
+    // Number of subprojects
+    public int subprojectCount() {
+        return subprojects.length;
+    }
+
+    // Number of ports (vertices with an interface edge)
+    public int portCount() {
+        return ports.length;
+    }
+
+    // Number of edges of the condensed graph
+    public int condensedEdgeCount() {
+        return condensed == null ? 0 : condensed.edgeSize();
+    }
+
+    /**
+     * Runs PERT by subprojects and compares it with the monolithic CompactPERT.
+     * Without a count, the subprojects are the weakly connected components; with
+     * one, the tasks are split into that many ranges of consecutive task numbers.
+     * Usage: HierarchicalPERT input [subprojects]
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.out.println("Usage: HierarchicalPERT input [subprojects]");
+            return;
+        }
+        GraphReader reader = GraphReader.read(new File(args[0]));
+        CompactGraph g = reader.compactGraph();
+        int n = g.size();
+        int[] label = null;
+        if (args.length > 1) {
+            int count = Integer.parseInt(args[1]);
+            label = new int[n];
+            for (int u = 0; u < n; u++) {
+                label[u] = (int) ((long) u * count / n);
+            }
+        }
+
+        long start = System.nanoTime();
+        HierarchicalPERT h = pert(g, reader.durations(), label, ForkJoinPool.commonPool());
+        long elapsed = System.nanoTime() - start;
+        if (h == null) {
+            System.out.println("Invalid graph: not a DAG");
+            return;
+        }
+        CompactPERT p = h.result(), q = CompactPERT.pert(g, reader.durations());
+        int mismatches = 0;
+        for (int u = 0; u < n; u++) {
+            if (p.ec(u) != q.ec(u) || p.lc(u) != q.lc(u) || p.slack(u) != q.slack(u)) {
+                mismatches++;
+            }
+        }
+        System.out.println("Critical Path Length: " + p.criticalPath() + " in " + (elapsed / 1000000) + " msec. "
+                + "Subprojects: " + h.subprojectCount() + ", ports: " + h.portCount()
+                + ", condensed edges: " + h.condensedEdgeCount() + ", mismatches: " + mismatches);
+    }
+}
@@ -0,0 +1,204 @@
+// Change to your Folder name
+package ______;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * The K longest source-to-sink paths of a scheduled DAG, for near-critical analysis.
+ *
+ * A path is a chain of tasks from a task without predecessors to a task without
+ * successors; its length is the sum of their durations. Partial paths are
+ * extended best-first. After a PERT run, T - LS(u) is the length of the longest
+ * chain of tasks from u on, so the prefix before u plus T - LS(u) is the exact
+ * length of the best completion of a prefix ending at u. The first K complete
+ * paths taken from the queue are thus the K longest. Since every queued prefix
+ * can be completed to a path of its bound, the queue is bounded by the number of
+ * paths still missing, and the search costs O(K * L * d * log K) for paths of up
+ * to L tasks and out-degree d.
+ *
+ * With lags (PERT.pert(g, duration, true)), each edge p -> v moves the start of v
+ * by an offset from the start of p: d(p) + lag for FS, lag for SS, d(p) + lag - d(v)
+ * for FF and lag - d(v) for SF. The first task of a path starts at 0, and the
+ * length of the path is the latest finish among its tasks, i.e. the completion
+ * time the chain forces on its own. T - LS(u) is then the longest such time of a
+ * chain from u on, so the same search is exact. Since offsets may be negative,
+ * a path may also begin at a task that starts at 0 only because the project does
+ * (every incoming edge allows an earlier start).
+ */
+public class LongestPaths {
+    /** A source-to-sink path with its length and its slack relative to the critical path */
+    public static class Path {
+        final int[] tasks;
+        final int length, slack;
+
+        Path(int[] tasks, int length, int slack) {
+            this.tasks = tasks;
+            this.length = length;
+            this.slack = slack;
+        }
+
+        /** Vertex indices of the tasks on the path, in order */
+        public int[] tasks() {
+            return tasks;
+        }
+
+        /** Total duration of the tasks on the path */
+        public int length() {
+            return length;
+        }
+
+        /** Project completion time minus the length of the path; 0 for a critical path */
+        public int slack() {
+            return slack;
+        }
+
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            for (int u : tasks) {
+                sb.append(sb.length() == 0 ? "" : " ").append(u + 1);
+            }
+            return "length " + length + ", slack " + slack + ": " + sb;
+        }
+    }
+
+    /** A prefix of a path, sharing its earlier tasks with the prefix it was extended from */
+    private static class Prefix {
+        final int vertex;
+        final Prefix parent;
+        /** start: start of vertex along the path; length: latest finish of the tasks of the prefix */
+        final int depth, start, length, bound;
+        final long id;
+
+        Prefix(int vertex, Prefix parent, int start, int length, int bound, long id) {
+            this.vertex = vertex;
+            this.parent = parent;
+            this.depth = parent == null ? 1 : parent.depth + 1;
+            this.start = start;
+            this.length = length;
+            this.bound = bound;
+            this.id = id;
+        }
+    }
+
+    private LongestPaths() {
+    }
+
+    /**
+     * Finds the k longest paths, given the results of a PERT run on g.
+     *
+     * @param duration task durations, indexed by vertex index
+     * @param es earliest start times of the PERT run
+     * @param ls latest start times of the PERT run
+     * @param completionTime project completion time of the PERT run
+     * @param lags whether the run used the edge weights as lags
+     * @return up to k paths, longest first (ties in order of discovery)
+     */
+    static List<Path> top(CompactGraph g, int[] duration, int[] es, int[] ls, int completionTime,
+                          boolean lags, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Invalid number of paths: " + k);
+        }
+        List<Path> result = new ArrayList<>(Math.min(k, 1024));
+        TreeSet<Prefix> queue = new TreeSet<>((a, b) -> a.bound != b.bound
+                ? Integer.compare(b.bound, a.bound) : Long.compare(a.id, b.id));
+        long ids = 0;
+        int[] outOffsets = g.outOffsets, outTargets = g.outTargets;
+
+        for (int u = 0; u < g.size() && k > 0; u++) {
+            if (g.inDegree(u) == 0 || (lags && startsWithProject(g, duration, es, u))) {
+                offer(queue, new Prefix(u, null, 0, duration[u], completionTime - ls[u], ids++), k);
+            }
+        }
+        while (result.size() < k && !queue.isEmpty()) {
+            Prefix p = queue.pollFirst();
+            int u = p.vertex;
+            if (outOffsets[u] == outOffsets[u + 1]) {
+                result.add(path(p, completionTime));
+                continue;
+            }
+            int capacity = k - result.size();
+            for (int e = outOffsets[u], end = outOffsets[u + 1]; e < end; e++) {
+                int v = outTargets[e];
+                int start = p.start + (lags ? offset(g, duration, e, u, v) : duration[u]);
+                int length = Math.max(p.length, start + duration[v]);
+                int bound = Math.max(p.length, start + completionTime - ls[v]);
+                offer(queue, new Prefix(v, p, start, length, bound, ids++), capacity);
+            }
+        }
+        return result;
+    }
+
+    // Offset from the start of u to the start of v along the out-edge at CSR position e, with lags
+    private static int offset(CompactGraph g, int[] duration, int e, int u, int v) {
+        int lag = g.outWeights[e];
+        switch (g.outTypes == null ? PERT.FS : g.outTypes[e]) {
+            case PERT.SS: return lag;
+            case PERT.FF: return duration[u] + lag - duration[v];
+            case PERT.SF: return lag - duration[v];
+            default:      return duration[u] + lag;
+        }
+    }
+
+    // Whether every incoming edge of u allows a start before 0, so that u starts with the project
+    private static boolean startsWithProject(CompactGraph g, int[] duration, int[] es, int u) {
+        if (es[u] != 0) {
+            return false;
+        }
+        byte[] inTypes = g.inTypes;
+        for (int k = g.inOffsets[u], end = g.inOffsets[u + 1]; k < end; k++) {
+            int p = g.inSources[k], lag = g.inWeights[k], start;
+            switch (inTypes == null ? PERT.FS : inTypes[k]) {
+                case PERT.SS: start = es[p] + lag; break;
+                case PERT.FF: start = es[p] + duration[p] + lag - duration[u]; break;
+                case PERT.SF: start = es[p] + lag - duration[u]; break;
+                default:      start = es[p] + duration[p] + lag; break;
+            }
+            if (start >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Queue a prefix, keeping only the capacity best ones
+    private static void offer(TreeSet<Prefix> queue, Prefix p, int capacity) {
+        if (queue.size() < capacity) {
+            queue.add(p);
+        } else if (p.bound > queue.last().bound) {
+            queue.pollLast();
+            queue.add(p);
+        }
+    }
+
+    private static Path path(Prefix p, int completionTime) {
+        int[] tasks = new int[p.depth];
+        for (Prefix q = p; q != null; q = q.parent) {
+            tasks[q.depth - 1] = q.vertex;
+        }
+        return new Path(tasks, p.length, completionTime - p.length);
+    }
+
+    /**
+     * Prints the k longest paths of a project.  Usage: LongestPaths input.txt [k]
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.out.println("Usage: LongestPaths input.txt [k]");
+            return;
+        }
+        GraphReader reader = GraphReader.read(new File(args[0]));
+        CompactPERT p = CompactPERT.pert(reader.compactGraph(), reader.durations());
+        if (p == null) {
+            System.out.println("Graph is not a DAG.");
+            return;
+        }
+        int k = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        for (Path path : p.longestPaths(k)) {
+            System.out.println(path);
+        }
+        System.out.println("Critical Path Length: " + p.criticalPath());
+    }
+}
@@ -0,0 +1,268 @@
+// Change to your Folder name
+package ______;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Stochastic PERT: Monte Carlo simulation with three-point duration estimates.
+ *
+ * Each task has an optimistic (a), most likely (m) and pessimistic (b) duration.
+ * Its duration is drawn from the Beta-PERT distribution on [a, b] with mode m,
+ * whose mean is the classic PERT weighted average (a + 4m + b) / 6. Each
+ * simulation runs the forward and backward passes over one topological order
+ * computed up front.
+ *
+ * Simulations are split among workers. Each worker has its own SplittableRandom
+ * stream split from the seed, and its own buffers allocated once; there is no
+ * shared mutable state, and nothing is allocated per simulation. Sampled
+ * durations are kept in fixed point (1/SCALE units) so that critical tasks are
+ * recognized by exact zero slack.
+ */
+public class MonteCarloPERT {
+    /** Fixed-point units per time unit */
+    static final long SCALE = 1000;
+
+    private final CompactGraph g;
+    private final int[] order;
+    private final int[] low, high;
+
+    /** Marsaglia-Tsang constants (d, c) of the two gamma variates of each task's Beta distribution */
+    private final double[] alphaD, alphaC, betaD, betaC;
+
+    /**
+     * Prepares a simulation over graph g.
+     *
+     * @throws IllegalArgumentException if the estimates are invalid or g is not a DAG
+     */
+    public MonteCarloPERT(CompactGraph g, int[] optimistic, int[] mostLikely, int[] pessimistic) {
+        int n = g.size();
+        if (optimistic == null || mostLikely == null || pessimistic == null
+                || optimistic.length != n || mostLikely.length != n || pessimistic.length != n) {
+            throw new IllegalArgumentException("Invalid estimate arrays.");
+        }
+        TopologicalSort sort = new TopologicalSort(g);
+        if (!sort.sort()) {
+            throw new IllegalArgumentException("Graph is not a DAG.");
+        }
+        this.g = g;
+        this.order = sort.order();
+        low = optimistic.clone();
+        high = pessimistic.clone();
+        alphaD = new double[n];
+        alphaC = new double[n];
+        betaD = new double[n];
+        betaC = new double[n];
+        for (int u = 0; u < n; u++) {
+            int a = optimistic[u], m = mostLikely[u], b = pessimistic[u];
+            if (a < 0 || a > m || m > b) {
+                throw new IllegalArgumentException("Invalid estimates for task " + (u + 1) + ": " + a + " " + m + " " + b);
+            }
+            if (a < b) {
+                double alpha = 1 + 4.0 * (m - a) / (b - a);
+                double beta = 1 + 4.0 * (b - m) / (b - a);
+                alphaD[u] = alpha - 1.0 / 3;
+                alphaC[u] = 1 / Math.sqrt(9 * alphaD[u]);
+                betaD[u] = beta - 1.0 / 3;
+                betaC[u] = 1 / Math.sqrt(9 * betaD[u]);
+            }
+        }
+    }
+
+    /** Results of a simulation run */
+    public static class Result {
+        final int simulations;
+        final double[] completionTime;  // sorted
+        final int[] criticalCount;
+        final long[] slackSum;
+
+        Result(int simulations, double[] completionTime, int[] criticalCount, long[] slackSum) {
+            this.simulations = simulations;
+            this.completionTime = completionTime;
+            this.criticalCount = criticalCount;
+            this.slackSum = slackSum;
+        }
+
+        /** Number of simulations */
+        public int simulations() {
+            return simulations;
+        }
+
+        /** Mean project completion time */
+        public double mean() {
+            double sum = 0;
+            for (double t : completionTime) {
+                sum += t;
+            }
+            return sum / simulations;
+        }
+
+        /** The p-th percentile (0 < p <= 100) of the project completion time */
+        public double percentile(double p) {
+            int rank = (int) Math.ceil(p / 100 * simulations);
+            return completionTime[Math.min(Math.max(rank, 1), simulations) - 1];
+        }
+
+        /** Fraction of simulations in which task u was critical */
+        public double criticalityIndex(int u) {
+            return (double) criticalCount[u] / simulations;
+        }
+
+        /** Mean slack of task u */
+        public double meanSlack(int u) {
+            return (double) slackSum[u] / SCALE / simulations;
+        }
+    }
+
+    /**
+     * Runs the simulations on the common pool.
+     *
+     * @param simulations number of simulations
+     * @param seed seed of the random streams; results are reproducible for a given seed and pool size
+     */
+    public Result simulate(int simulations, long seed) throws InterruptedException {
+        return simulate(simulations, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs the simulations with one worker per thread of the pool.
+     *
+     * @param simulations number of simulations
+     * @param seed seed of the random streams; results are reproducible for a given seed and pool size
+     * @param pool the pool running the workers
+     */
+    public Result simulate(int simulations, long seed, ForkJoinPool pool) throws InterruptedException {
+        if (simulations <= 0) {
+            throw new IllegalArgumentException("Invalid number of simulations: " + simulations);
+        }
+        int workers = Math.min(pool.getParallelism(), simulations);
+        long[] completion = new long[simulations];
+        SplittableRandom root = new SplittableRandom(seed);
+        List<Worker> tasks = new ArrayList<>(workers);
+        for (int w = 0, first = 0; w < workers; w++) {
+            int count = simulations / workers + (w < simulations % workers ? 1 : 0);
+            tasks.add(new Worker(root.split(), completion, first, count));
+            first += count;
+        }
+
+        int n = g.size();
+        int[] criticalCount = new int[n];
+        long[] slackSum = new long[n];
+        try {
+            for (Future<Worker> f : pool.invokeAll(tasks)) {
+                Worker w = f.get();
+                for (int u = 0; u < n; u++) {
+                    criticalCount[u] += w.criticalCount[u];
+                    slackSum[u] += w.slackSum[u];
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+
+        Arrays.sort(completion);
+        double[] times = new double[simulations];
+        for (int i = 0; i < simulations; i++) {
+            times[i] = (double) completion[i] / SCALE;
+        }
+        return new Result(simulations, times, criticalCount, slackSum);
+    }
+
+    /** Runs simulations first .. first+count-1 with its own random stream and buffers */
+    private class Worker implements Callable<Worker> {
+        private final SplittableRandom random;
+        private final long[] completion;
+        private final int first, count;
+        private final long[] duration, ef, ls;
+        final int[] criticalCount;
+        final long[] slackSum;
+
+        Worker(SplittableRandom random, long[] completion, int first, int count) {
+            this.random = random;
+            this.completion = completion;
+            this.first = first;
+            this.count = count;
+            int n = g.size();
+            duration = new long[n];
+            ef = new long[n];
+            ls = new long[n];
+            criticalCount = new int[n];
+            slackSum = new long[n];
+        }
+
+        public Worker call() {
+            for (int i = first; i < first + count; i++) {
+                completion[i] = simulateOnce();
+            }
+            return this;
+        }
+
+        // One simulation: sample durations, forward and backward pass; returns the completion time
+        private long simulateOnce() {
+            int n = g.size();
+            for (int u = 0; u < n; u++) {
+                duration[u] = sample(u);
+            }
+
+            int[] inOffsets = g.inOffsets, inSources = g.inSources;
+            long completionTime = 0;
+            for (int u : order) {
+                long start = 0;
+                for (int k = inOffsets[u], end = inOffsets[u + 1]; k < end; k++) {
+                    start = Math.max(start, ef[inSources[k]]);
+                }
+                ef[u] = start + duration[u];
+                completionTime = Math.max(completionTime, ef[u]);
+            }
+
+            int[] outOffsets = g.outOffsets, outTargets = g.outTargets;
+            for (int i = order.length - 1; i >= 0; i--) {
+                int u = order[i];
+                long finish = completionTime;
+                for (int k = outOffsets[u], end = outOffsets[u + 1]; k < end; k++) {
+                    finish = Math.min(finish, ls[outTargets[k]]);
+                }
+                ls[u] = finish - duration[u];
+                long slack = finish - ef[u];
+                slackSum[u] += slack;
+                if (slack == 0) {
+                    criticalCount[u]++;
+                }
+            }
+            return completionTime;
+        }
+
+        // Beta-PERT sample of the duration of task u, in fixed point
+        private long sample(int u) {
+            if (low[u] == high[u]) {
+                return low[u] * SCALE;
+            }
+            double x = gamma(alphaD[u], alphaC[u]);
+            double y = gamma(betaD[u], betaC[u]);
+            double fraction = x / (x + y);
+            return Math.round((low[u] + fraction * (high[u] - low[u])) * SCALE);
+        }
+
+        // Marsaglia-Tsang gamma variate for shape >= 1, given d = shape - 1/3 and c = 1/sqrt(9d)
+        private double gamma(double d, double c) {
+            while (true) {
+                double z = random.nextGaussian();
+                double v = 1 + c * z;
+                if (v <= 0) {
+                    continue;
+                }
+                v = v * v * v;
+                double r = random.nextDouble();
+                if (r < 1 - 0.0331 * z * z * z * z || Math.log(r) < 0.5 * z * z + d * (1 - v + Math.log(v))) {
+                    return d * v;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,368 @@
+// Change to your Folder name
+package ______;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * PERT over off-heap memory (java.lang.foreign), for graphs too large for the heap.
+ *
+ * The out-adjacency (CSR offsets and targets), durations and the cached order of
+ * a .pert file are used in place, through a memory mapping owned by an Arena; no
+ * edge is copied onto the heap. The results are six columns of n ints,
+ *
+ *     es[n], ef[n], ls[n], lf[n], slack[n], order[n]
+ *
+ * allocated in the arena or mapped from a results file, so they survive the run.
+ * All values are little-endian ints, as in PertFile. The forward pass pushes EF
+ * along the out-edges, so the in-adjacency is never needed, and the results are
+ * the same as those of CompactPERT. The heap holds only this object, and the
+ * segments live until the arena is closed.
+ *
+ * Every edge is finish-to-start without lag, as by CompactPERT.pert(g, duration):
+ * .pert files do not store precedence types, and copyOf rejects graphs with them.
+ *
+ * The Foreign Memory API is a preview API in JDK 21 (final in JDK 22): compile
+ * with --enable-preview --release 21 and run with --enable-preview on JDK 21.
+ * Older JDKs cannot compile this class; compiler.sh checks for JDK 21 or later.
+ * Edge counts are limited to 2^31 - 1 by the int offsets of the .pert format.
+ */
+public class OffHeapPERT {
+    /** Little-endian int, the layout of .pert files */
+    static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    /** Columns of the results segment */
+    static final int ES = 0, EF = 1, LS = 2, LF = 3, SLACK = 4, ORDER = 5;
+    private static final int COLUMNS = 6;
+
+    private final int n, m;
+
+    /** Out-adjacency, durations, and the cached topological order (or null) */
+    private final MemorySegment outOffsets, outTargets, duration, cachedOrder;
+
+    /** Result columns */
+    private final MemorySegment es, ef, ls, lf, slack, order;
+
+    private int completionTime;
+
+    private OffHeapPERT(int n, int m, MemorySegment outOffsets, MemorySegment outTargets,
+                        MemorySegment duration, MemorySegment cachedOrder, MemorySegment results) {
+        this.n = n;
+        this.m = m;
+        this.outOffsets = outOffsets;
+        this.outTargets = outTargets;
+        this.duration = duration;
+        this.cachedOrder = cachedOrder;
+        long column = 4L * n;
+        es = results.asSlice(ES * column, column);
+        ef = results.asSlice(EF * column, column);
+        ls = results.asSlice(LS * column, column);
+        lf = results.asSlice(LF * column, column);
+        slack = results.asSlice(SLACK * column, column);
+        order = results.asSlice(ORDER * column, column);
+    }
+
+    /**
+     * Maps a .pert file, with the results allocated in the arena.
+     *
+     * @throws IOException if the file cannot be read or is not a valid .pert file
+     */
+    public static OffHeapPERT map(File pert, Arena arena) throws IOException {
+        return map(pert, null, arena);
+    }
+
+    /**
+     * Maps a .pert file, with the results in a file mapped in the arena (created or
+     * overwritten), or allocated in the arena if results is null. The out-adjacency
+     * and the cached order are checked in O(n+m), as by PertFile.load().
+     *
+     * @throws IOException if a file cannot be read or written, or pert is not a valid .pert file
+     */
+    public static OffHeapPERT map(File pert, File results, Arena arena) throws IOException {
+        MemorySegment file;
+        try (FileChannel fc = FileChannel.open(pert.toPath(), StandardOpenOption.READ)) {
+            file = fc.map(FileChannel.MapMode.READ_ONLY, 0, fc.size(), arena);
+        }
+        long size = file.byteSize();
+        if (size < PertFile.HEADER_INTS * 4L || file.getAtIndex(INT, 0) != PertFile.MAGIC) {
+            throw new IOException("Not a .pert file: " + pert);
+        }
+        if (file.getAtIndex(INT, 1) != PertFile.VERSION) {
+            throw new IOException("Unsupported .pert version " + file.getAtIndex(INT, 1) + ": " + pert);
+        }
+        int flags = file.getAtIndex(INT, 2), n = file.getAtIndex(INT, 3), m = file.getAtIndex(INT, 4);
+        // As in PertFile.load: n + 1 offsets must be indexable, and the sizes are computed in long
+        if (n < 0 || n == Integer.MAX_VALUE || m < 0) {
+            throw new IOException("Corrupt .pert file: " + pert);
+        }
+        long expected = 4L * (PertFile.HEADER_INTS + (n + 1L) + 2L * m + n);
+        if ((flags & PertFile.IN_EDGES) != 0) {
+            expected += 4L * ((n + 1L) + 2L * m);
+        }
+        if ((flags & PertFile.ORDER) != 0) {
+            expected += 4L * n;
+        }
+        if (size != expected) {
+            throw new IOException("Corrupt .pert file: " + pert);
+        }
+
+        long position = 4L * PertFile.HEADER_INTS;
+        MemorySegment outOffsets = file.asSlice(position, 4L * (n + 1L));
+        position += 4L * (n + 1L);
+        MemorySegment outTargets = file.asSlice(position, 4L * m);
+        position += 8L * m; // Skip the weights
+        if ((flags & PertFile.IN_EDGES) != 0) {
+            position += 4L * ((n + 1L) + 2L * m);
+        }
+        MemorySegment duration = file.asSlice(position, 4L * n);
+        position += 4L * n;
+        MemorySegment order = (flags & PertFile.ORDER) != 0 ? file.asSlice(position, 4L * n) : null;
+        OffHeapPERT p = new OffHeapPERT(n, m, outOffsets, outTargets, duration, order, results(n, results, arena));
+        if (!p.isAdjacency()) {
+            throw new IOException("Corrupt .pert file: " + pert);
+        }
+        if (order != null && !p.isTopologicalOrder()) {
+            throw new IOException("Corrupt .pert file (invalid cached order): " + pert);
+        }
+        return p;
+    }
+
+    /** Whether the out-offsets go from 0 to m without decreasing, and every target is in [0, n) (as in PertFile) */
+    private boolean isAdjacency() {
+        if (outOffsets.getAtIndex(INT, 0) != 0 || outOffsets.getAtIndex(INT, n) != m) {
+            return false;
+        }
+        for (long u = 0; u < n; u++) {
+            if (outOffsets.getAtIndex(INT, u) > outOffsets.getAtIndex(INT, u + 1)) {
+                return false;
+            }
+        }
+        for (long k = 0; k < m; k++) {
+            int v = outTargets.getAtIndex(INT, k);
+            if (v < 0 || v >= n) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the cached order is a permutation of 0..n-1 in which every edge goes
+     * forward (as in PertFile), with the positions kept in the LS column
+     */
+    private boolean isTopologicalOrder() {
+        MemorySegment position = ls;
+        position.fill((byte) -1);
+        for (long i = 0; i < n; i++) {
+            int u = cachedOrder.getAtIndex(INT, i);
+            if (u < 0 || u >= n || position.getAtIndex(INT, u) >= 0) {
+                return false;
+            }
+            position.setAtIndex(INT, u, (int) i);
+        }
+        for (long u = 0; u < n; u++) {
+            int pu = position.getAtIndex(INT, u);
+            for (long k = outOffsets.getAtIndex(INT, u), end = outOffsets.getAtIndex(INT, u + 1); k < end; k++) {
+                if (position.getAtIndex(INT, outTargets.getAtIndex(INT, k)) <= pu) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies a graph and its durations into segments allocated in the arena.
+     *
+     * @throws IllegalArgumentException if the duration array is invalid, or the graph
+     *         has edges that are not finish-to-start
+     */
+    public static OffHeapPERT copyOf(CompactGraph g, int[] duration, Arena arena) {
+        int n = g.size(), m = g.edgeSize();
+        if (duration == null || duration.length != n) {
+            throw new IllegalArgumentException("Invalid graph or duration array.");
+        }
+        if (g.outTypes != null) {
+            throw new IllegalArgumentException("Lags are not supported: the graph has edges that are not finish-to-start.");
+        }
+        MemorySegment outOffsets = arena.allocate(4L * (n + 1), 4);
+        MemorySegment outTargets = arena.allocate(4L * m, 4);
+        MemorySegment durations = arena.allocate(4L * n, 4);
+        MemorySegment.copy(g.outOffsets, 0, outOffsets, INT, 0, n + 1);
+        MemorySegment.copy(g.outTargets, 0, outTargets, INT, 0, m);
+        MemorySegment.copy(duration, 0, durations, INT, 0, n);
+        return new OffHeapPERT(n, m, outOffsets, outTargets, durations, null, arena.allocate(4L * COLUMNS * n, 4));
+    }
+
+    // Segment of the result columns: mapped from a file, or allocated in the arena
+    private static MemorySegment results(int n, File results, Arena arena) throws IOException {
+        if (results == null) {
+            return arena.allocate(4L * COLUMNS * n, 4);
+        }
+        try (FileChannel fc = FileChannel.open(results.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return fc.map(FileChannel.MapMode.READ_WRITE, 0, 4L * COLUMNS * n, arena);
+        }
+    }
+
+    /**
+     * Performs the PERT analysis: topological order (unless cached), forward pass,
+     * backward pass and slack.
+     *
+     * @return true if the graph is a DAG, false otherwise
+     */
+    public boolean pert() {
+        if (cachedOrder != null) {
+            MemorySegment.copy(cachedOrder, 0, order, 0, 4L * n);
+        } else if (!topologicalOrder()) {
+            return false;
+        }
+        forwardPass();
+        backwardPass();
+        for (long u = 0; u < n; u++) {
+            slack.setAtIndex(INT, u, lf.getAtIndex(INT, u) - ef.getAtIndex(INT, u));
+        }
+        return true;
+    }
+
+    /** Kahn's algorithm into the order column, counting in-degrees in the LS column */
+    private boolean topologicalOrder() {
+        MemorySegment inDegree = ls;
+        inDegree.fill((byte) 0);
+        for (long k = 0; k < m; k++) {
+            long v = outTargets.getAtIndex(INT, k);
+            inDegree.setAtIndex(INT, v, inDegree.getAtIndex(INT, v) + 1);
+        }
+        long head = 0, tail = 0;
+        for (long u = 0; u < n; u++) {
+            if (inDegree.getAtIndex(INT, u) == 0) {
+                order.setAtIndex(INT, tail++, (int) u);
+            }
+        }
+        // order[head..tail) is used as the queue of vertices with no unprocessed predecessor
+        while (head < tail) {
+            int u = order.getAtIndex(INT, head++);
+            for (long k = outOffsets.getAtIndex(INT, u), end = outOffsets.getAtIndex(INT, u + 1); k < end; k++) {
+                int v = outTargets.getAtIndex(INT, k);
+                int degree = inDegree.getAtIndex(INT, v) - 1;
+                inDegree.setAtIndex(INT, v, degree);
+                if (degree == 0) {
+                    order.setAtIndex(INT, tail++, v);
+                }
+            }
+        }
+        return tail == n;
+    }
+
+    /** Forward pass: EF = ES + duration, pushed to the ES of the successors */
+    private void forwardPass() {
+        es.fill((byte) 0);
+        int maxEF = 0;
+        for (long i = 0; i < n; i++) {
+            int u = order.getAtIndex(INT, i);
+            int finish = es.getAtIndex(INT, u) + duration.getAtIndex(INT, u);
+            ef.setAtIndex(INT, u, finish);
+            maxEF = Math.max(maxEF, finish);
+            for (long k = outOffsets.getAtIndex(INT, u), end = outOffsets.getAtIndex(INT, u + 1); k < end; k++) {
+                int v = outTargets.getAtIndex(INT, k);
+                if (es.getAtIndex(INT, v) < finish) {
+                    es.setAtIndex(INT, v, finish); // ES = max EF of predecessors
+                }
+            }
+        }
+        completionTime = maxEF;
+    }
+
+    /** Backward pass: LF is the minimum LS of the successors, LS = LF - duration */
+    private void backwardPass() {
+        for (long i = n - 1; i >= 0; i--) {
+            int u = order.getAtIndex(INT, i);
+            int finish = completionTime;
+            for (long k = outOffsets.getAtIndex(INT, u), end = outOffsets.getAtIndex(INT, u + 1); k < end; k++) {
+                finish = Math.min(finish, ls.getAtIndex(INT, outTargets.getAtIndex(INT, k)));
+            }
+            lf.setAtIndex(INT, u, finish);
+            ls.setAtIndex(INT, u, finish - duration.getAtIndex(INT, u));
+        }
+    }
+
+    // Number of vertices
+    public int size() {
+        return n;
+    }
+
+    // Number of edges
+    public int edgeSize() {
+        return m;
+    }
+
+    // Getter for earliest completion time of the task with index u
+    public int ec(int u) {
+        return es.getAtIndex(INT, u);
+    }
+
+    // Getter for latest completion time of the task with index u
+    public int lc(int u) {
+        return lf.getAtIndex(INT, u);
+    }
+
+    // Getter for slack of the task with index u
+    public int slack(int u) {
+        return slack.getAtIndex(INT, u);
+    }
+
+    // Critical path length (project completion time)
+    public int criticalPath() {
+        return completionTime;
+    }
+
+    // Counts the number of critical tasks
+    public int numCritical() {
+        int count = 0;
+        for (long u = 0; u < n; u++) {
+            if (slack.getAtIndex(INT, u) == 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Runs PERT off-heap on a .pert file (see DAGGenerator for writing large ones),
+     * reporting heap use and garbage collection.
+     * Usage: OffHeapPERT input.pert [results]
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.out.println("Usage: OffHeapPERT input.pert [results]");
+            return;
+        }
+        try (Arena arena = Arena.ofConfined()) {
+            long start = System.nanoTime();
+            OffHeapPERT p = map(new File(args[0]), args.length > 1 ? new File(args[1]) : null, arena);
+            if (!p.pert()) {
+                System.out.println("Invalid graph: not a DAG");
+                return;
+            }
+            long elapsed = System.nanoTime() - start;
+            long collections = 0, gcMillis = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                collections += Math.max(0, gc.getCollectionCount());
+                gcMillis += Math.max(0, gc.getCollectionTime());
+            }
+            Runtime rt = Runtime.getRuntime();
+            System.out.println("Critical Path Length: " + p.criticalPath() + ", critical tasks: " + p.numCritical()
+                    + " in " + (elapsed / 1000000) + " msec. n: " + p.size() + ", m: " + p.edgeSize());
+            System.out.println("Heap used: " + (rt.totalMemory() - rt.freeMemory()) / (1024 * 1024) + " MB, GC: "
+                    + collections + " collections, " + gcMillis + " msec.");
+        }
+    }
+}
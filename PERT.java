@@ -1,7 +1,11 @@
-package ixs190023;
+package ______;
 
 import java.io.File;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Scanner;
 
 import ______.Graph.Edge;
@@ -14,27 +18,97 @@ import ______.Graph.Vertex;
  * for project scheduling and critical path analysis.
  */
 public class PERT extends GraphAlgorithm<PERT.PERTVertex> {
-    /** List of vertices in topological order */
-    private LinkedList<Vertex> finishList;
+    /** Indices of vertices in topological order */
+    private int[] order;
+
+    /** Position of each vertex in order (inverse of order), used by the incremental updates */
+    private int[] position;
+
+    /** Graph.version() for which order was computed; pert() sorts again only if it changed */
+    private long orderVersion;
+
+    /** Indices of the vertices of a cycle, if the graph is not a DAG */
+    private int[] cycle;
+
+    /** Project completion time, and the number of vertices whose EF equals it */
+    private int completionTime, finishingAtCompletion;
+
+    /** Number of critical vertices */
+    private int criticalCount;
+
+    /** Work queues of the incremental updates, created on first use */
+    private PositionQueue forwardQueue, backwardQueue;
+
+    /**
+     * Workspaces of reorder(), reused across addDependency() calls: visit marks
+     * (cleared after each use), the search stack, the vertices found and their new
+     * order. The int arrays grow on demand.
+     */
+    private boolean[] visited;
+    private int[] stack = new int[16], found = new int[16], moved = new int[16];
+
+    /**
+     * Tight predecessor links, recorded by the forward pass: the predecessors p of u
+     * with EF(p) = ES(u) are links[linkStart[u] .. linkEnd[u]-1]. The incremental
+     * updates invalidate them; they are recorded again when next needed.
+     */
+    private int[] links, linkStart, linkEnd;
+    private boolean linksValid;
+
+    /**
+     * The last snapshot() and the Schedule chunks changed since: chunkChanged marks
+     * them, changedChunks[0..changedCount-1] lists them. A full pass sets allChanged,
+     * and the next snapshot copies every chunk.
+     */
+    private Schedule lastSnapshot;
+    private boolean[] chunkChanged;
+    private int[] changedChunks;
+    private int changedCount;
+    private boolean allChanged = true;
+
+    /** Measurements of the phases of the last run */
+    private final PERTMetrics metrics = new PERTMetrics();
 
     /** Constant representing infinity for LF initialization */
     public static final int INF = Integer.MAX_VALUE;
 
     /**
-     * The PERTVertex class represents a vertex in a PERT (Program Evaluation Review Technique) chart.
-     * It includes attributes for task duration and various time-related values used in PERT analysis.
+     * Precedence types of an edge p -> u (Edge.getType()), with lag w = Edge.getWeight():
      *
-     * Attributes:
-     * - duration: The duration of the task.
+     * - FS (finish-to-start): u starts at least w after p finishes.
+     * - SS (start-to-start): u starts at least w after p starts.
+     * - FF (finish-to-finish): u finishes at least w after p finishes.
+     * - SF (start-to-finish): u finishes at least w after p starts.
+     *
+     * Types and lags are used only by a PERT created with lags = true; otherwise
+     * every edge is finish-to-start with lag 0, whatever its weight and type.
+     */
+    public static final int FS = 0, SS = 1, FF = 2, SF = 3;
+
+    /** Whether edge weights are used as lags with the edge precedence types */
+    private boolean lags;
+
+    /**
+     * Columns of the IntStore holding the attributes of each vertex (task).
+     * Each column is an int array indexed by Vertex.getIndex().
+     *
+     * - DURATION: The duration of the task.
      * - ES (Early Start): The earliest time the task can start.
      * - EF (Early Finish): The earliest time the task can finish.
      * - LS (Late Start): The latest time the task can start without delaying the project.
      * - LF (Late Finish): The latest time the task can finish without delaying the project.
-     * - slack: The amount of time that the task can be delayed without delaying the project.
-     *
-     * Methods:
-     * - PERTVertex(Vertex u): Constructs a PERTVertex with the specified vertex and initializes all time-related values to 0.
-     * - make(Vertex u): Factory method to create a new PERTVertex for a given Vertex.
+     * - SLACK: The amount of time that the task can be delayed without delaying the project.
+     */
+    static final int DURATION = 0, ES = 1, EF = 2, LS = 3, LF = 4, SLACK = 5;
+    private static final int COLUMNS = 6;
+
+    /** The columns of the store, cached for the passes */
+    private final int[] duration, es, ef, ls, lf, slack;
+
+    /**
+     * The attributes of one vertex, as returned by get(u) and taken by put(u, value).
+     * PERT keeps its attributes in the int columns above, so a PERTVertex is a copy:
+     * changing it does not change the PERT until it is put back.
      */
     public static class PERTVertex implements Factory {
         int duration, ES, EF, LS, LF, slack;
@@ -53,12 +127,58 @@ public class PERT extends GraphAlgorithm<PERT.PERTVertex> {
 
     // Private constructor for PERT
     private PERT(Graph g) {
-        super(g, new PERTVertex(null));
+        super(g, COLUMNS);
+        duration = column(DURATION);
+        es = column(ES);
+        ef = column(EF);
+        ls = column(LS);
+        lf = column(LF);
+        slack = column(SLACK);
+    }
+
+    /** Copy of the attributes of vertex u */
+    @Override
+    public PERTVertex get(Vertex u) {
+        int i = u.getIndex();
+        PERTVertex value = new PERTVertex(u);
+        value.duration = duration[i];
+        value.ES = es[i];
+        value.EF = ef[i];
+        value.LS = ls[i];
+        value.LF = lf[i];
+        value.slack = slack[i];
+        return value;
+    }
+
+    /**
+     * Writes the attributes of vertex u as they are, without recomputing the other
+     * vertices; call pert() to recompute the schedule. The completion time and the
+     * number of critical vertices follow the written EF and slack. The old
+     * attributes are returned.
+     */
+    @Override
+    public PERTVertex put(Vertex u, PERTVertex value) {
+        PERTVertex oldValue = get(u);
+        int i = u.getIndex();
+        duration[i] = value.duration;
+        es[i] = value.ES;
+        ls[i] = value.LS;
+        lf[i] = value.LF;
+        if ((value.slack == 0) != (slack[i] == 0)) {
+            criticalCount += value.slack == 0 ? 1 : -1;
+        }
+        slack[i] = value.slack;
+        int oldFinish = ef[i];
+        ef[i] = value.EF;
+        finishChanged(oldFinish, value.EF);
+        linksValid = false;
+        changed(i);
+        return oldValue;
     }
 
     // Set the duration of a task (vertex)
     public void setDuration(Vertex u, int d) {
-        get(u).duration = d;
+        duration[u.getIndex()] = d;
     }
 
     /**
@@ -67,6 +187,8 @@ public class PERT extends GraphAlgorithm<PERT.PERTVertex> {
      * This method checks if the graph is a Directed Acyclic Graph (DAG) and then
      * performs the forward and backward passes to calculate the earliest and latest
      * start times for each task. It also calculates the slack time for each task.
+     * The topological order is reused while the graph is unchanged (Graph.version()),
+     * so running again after changing durations does not sort again.
      *
      * @return true if the graph is a DAG and the PERT analysis is successfully performed,
      *         false otherwise.
@@ -77,55 +199,185 @@ public class PERT extends GraphAlgorithm<PERT.PERTVertex> {
             return true;
         }
 
-        finishList = topologicalOrder();
-        if (finishList == null || finishList.size() != g.size()) {
-            System.out.println("Graph is not a DAG.");
-            return false;
+        int n = g.size(), m = edgeCount();
+        if (order == null || orderVersion != g.version()) {
+            metrics.begin();
+            order = topologicalOrder();
+            metrics.end(PERTMetrics.Phase.TOPOLOGICAL_ORDER, n, m);
+            if (order == null) {
+                System.out.println("Graph is not a DAG. Cycle: " + vertices(g, cycle));
+                return false;
+            }
+            orderVersion = g.version();
+
+            // Refilled in place: the queues of the incremental updates order by this array
+            if (position == null || position.length != order.length) {
+                position = new int[order.length];
+                forwardQueue = backwardQueue = null;
+            }
+            for (int i = 0; i < order.length; i++) {
+                position[order[i]] = i;
+            }
+        } else {
+            metrics.record(PERTMetrics.Phase.TOPOLOGICAL_ORDER, 0, 0, 0, -1);
         }
 
+        metrics.begin();
         forwardPass();
         int projectCompletionTime = calculateProjectCompletionTime();
+        metrics.end(PERTMetrics.Phase.FORWARD_PASS, n, m);
+        metrics.begin();
         backwardPass(projectCompletionTime);
+        metrics.end(PERTMetrics.Phase.BACKWARD_PASS, n, m);
+        metrics.begin();
         calculateSlack();
+        metrics.end(PERTMetrics.Phase.SLACK, n, 0);
         return true;
     }
 
+    // ES of vertex u from the current EF of its predecessors
+    private int earliestStart(int u) {
+        int start = 0;
+        for (Edge e : g.inEdges(g.getVertex(u + 1))) {
+            int p = e.fromVertex().getIndex();
+            start = Math.max(start, lags ? startAfter(e, p, u) : ef[p]); // ES = max EF of predecessors
+        }
+        return start;
+    }
+
+    // LF of vertex u from the current LS of its successors
+    private int latestFinish(int u, int projectCompletionTime) {
+        int finish = projectCompletionTime;
+        for (Edge e : g.outEdges(g.getVertex(u + 1))) {
+            int v = e.toVertex().getIndex();
+            finish = Math.min(finish, lags ? finishBefore(e, u, v) : ls[v]); // LF = min LS of successors
+        }
+        return finish;
+    }
+
+    // Earliest start of u allowed by the edge p -> u, from the current ES/EF of p
+    private int startAfter(Edge e, int p, int u) {
+        int lag = e.getWeight();
+        switch (e.getType()) {
+            case SS: return es[p] + lag;
+            case FF: return ef[p] + lag - duration[u];
+            case SF: return es[p] + lag - duration[u];
+            default: return ef[p] + lag;
+        }
+    }
+
+    // Latest finish of u allowed by the edge u -> v, from the current LS/LF of v
+    private int finishBefore(Edge e, int u, int v) {
+        int lag = e.getWeight();
+        switch (e.getType()) {
+            case SS: return ls[v] - lag + duration[u];
+            case FF: return lf[v] - lag;
+            case SF: return lf[v] - lag + duration[u];
+            default: return ls[v] - lag;
+        }
+    }
+
     /**
      * Performs the forward pass in the PERT algorithm to calculate the earliest start (ES)
      * and earliest finish (EF) times for each vertex in the graph.
      *
-     * The forward pass iterates over the vertices in the finish list and updates the ES and EF
+     * The forward pass iterates over the vertices in topological order and updates the ES and EF
      * times based on the maximum EF of their predecessor vertices.
      *
      * ES (Earliest Start) is calculated as the maximum EF of all predecessor vertices.
      * EF (Earliest Finish) is calculated as ES plus the duration of the task.
+     * The predecessors attaining the maximum are recorded as the tight links of the vertex.
      */
-    private void forwardPass() {
+    void forwardPass() {
+        allChanged = true;
+        int m = edgeCount();
+        if (links == null || links.length < m) {
+            links = new int[m];
+        }
+        if (linkStart == null) {
+            linkStart = new int[order.length];
+            linkEnd = new int[order.length];
+        }
         // Forward pass: calculate ES and EF
-        for (Vertex u : finishList) {
-            PERTVertex pu = get(u);
-            for (Edge e : g.inEdges(u)) {
-                Vertex v = e.fromVertex();
-                PERTVertex pv = get(v);
-                pu.ES = Math.max(pu.ES, pv.EF); // ES = max EF of predecessors
+        int next = 0;
+        for (int i = 0; i < order.length; i++) {
+            int u = order[i];
+            es[u] = linkPredecessors(u, next);
+            ef[u] = es[u] + duration[u]; // EF = ES + duration
+            next = linkEnd[u];
+        }
+        linksValid = true;
+    }
+
+    // ES of vertex u from the current EF of its predecessors. The predecessors whose EF
+    // equals the ES (whose edge constraint is tight, with lags) are recorded as the links
+    // of u, starting at links[next].
+    private int linkPredecessors(int u, int next) {
+        int start = 0, end = next;
+        for (Edge e : g.inEdges(g.getVertex(u + 1))) {
+            int p = e.fromVertex().getIndex();
+            int after = lags ? startAfter(e, p, u) : ef[p];
+            if (after > start) {
+                start = after; // ES = max EF of predecessors
+                end = next;
+            }
+            if (after == start) {
+                links[end++] = p;
             }
-            pu.EF = pu.ES + pu.duration; // EF = ES + duration
         }
+        linkStart[u] = next;
+        linkEnd[u] = end;
+        return start;
+    }
+
+    // Number of edges, counted in the adjacency lists: Graph.edgeSize() is not updated
+    // for edges added through a copy made by Graph(Graph), which shares the lists
+    private int edgeCount() {
+        int m = 0;
+        for (Vertex u : g) {
+            m += u.inDegree();
+        }
+        return m;
+    }
+
+    // Record the tight links again, if an incremental update invalidated them
+    private void ensureLinks() {
+        if (linksValid) {
+            return;
+        }
+        int m = edgeCount();
+        if (links.length < m) {
+            links = new int[m];
+        }
+        int next = 0;
+        for (int u : order) {
+            linkPredecessors(u, next);
+            next = linkEnd[u];
+        }
+        linksValid = true;
     }
 
     /**
      * Calculates the project completion time.
      * The project completion time is determined as the maximum Early Finish (EF) time
-     * across all vertices in the graph.
+     * across all vertices in the graph. It is kept in completionTime, together with the
+     * number of vertices finishing at that time.
      *
      * @return the project completion time, which is the maximum EF value among all vertices.
      */
-    private int calculateProjectCompletionTime() {
-        int projectCompletionTime = 0;
-        for (Vertex u : g) {
-            PERTVertex pu = get(u);
-            projectCompletionTime = Math.max(projectCompletionTime, pu.EF);
+    int calculateProjectCompletionTime() {
+        int projectCompletionTime = 0, count = 0;
+        for (int finish : ef) {
+            if (finish > projectCompletionTime) {
+                projectCompletionTime = finish;
+                count = 0;
+            }
+            if (finish == projectCompletionTime) {
+                count++;
+            }
         }
+        completionTime = projectCompletionTime;
+        finishingAtCompletion = count;
         return projectCompletionTime;
     }
 
@@ -136,94 +388,535 @@ public class PERT extends GraphAlgorithm<PERT.PERTVertex> {
      * @param projectCompletionTime The total time required to complete the project,
      *                              used to initialize the LF for all vertices.
      */
-    private void backwardPass(int projectCompletionTime) {
-        // Initialize LF for all vertices
-        for (Vertex u : g) {
-            get(u).LF = projectCompletionTime;
+    void backwardPass(int projectCompletionTime) {
+        allChanged = true;
+        // Process vertices in reverse topological order
+        for (int i = order.length - 1; i >= 0; i--) {
+            int u = order[i];
+            lf[u] = latestFinish(u, projectCompletionTime);
+            ls[u] = lf[u] - duration[u]; // LS = LF - duration
         }
+    }
 
-        // Process vertices in reverse topological order
-        for (int i = finishList.size() - 1; i >= 0; i--) {
-            Vertex u = finishList.get(i);
-            PERTVertex pu = get(u);
-            for (Edge e : g.outEdges(u)) {
-                Vertex v = e.toVertex();
-                PERTVertex pv = get(v);
-                pu.LF = Math.min(pu.LF, pv.LS); // LF = min LS of successors
+
+    /**
+     * Calculates the slack time for each vertex.
+     * Slack time is the difference between the latest finish time (LF)
+     * and the earliest finish time (EF) of a vertex. Also counts the critical vertices.
+     */
+    void calculateSlack() {
+        allChanged = true;
+        int count = 0;
+        for (int u = 0; u < slack.length; u++) {
+            slack[u] = lf[u] - ef[u];
+            if (slack[u] == 0) {
+                count++;
             }
-            pu.LS = pu.LF - pu.duration; // LS = LF - duration
         }
+        criticalCount = count;
     }
 
+    /**
+     * Changes the duration of a task and updates the schedule incrementally.
+     *
+     * ES/EF are recomputed only for u and the tasks downstream of it whose values
+     * change, LS/LF only for u and the tasks upstream of it. If the project
+     * completion time changes, every LF moves, and the backward pass is redone.
+     *
+     * @param u the task
+     * @param d the new duration
+     */
+    public void updateDuration(Vertex u, int d) {
+        int i = u.getIndex();
+        duration[i] = d;
+        update(i, i);
+    }
 
     /**
-     * Calculates the slack time for each vertex in the finish list.
-     * Slack time is the difference between the latest finish time (LF)
-     * and the earliest finish time (EF) of a vertex.
-     * This method uses parallel streams to perform the calculation concurrently.
+     * Adds the dependency u -> v (u must finish before v starts) and updates the
+     * schedule incrementally. If u comes after v in the current topological order,
+     * the affected part of the order is rearranged (Pearce-Kelly).
+     *
+     * @return the edge added to the graph
+     * @throws IllegalArgumentException if the dependency would create a cycle
      */
-    private void calculateSlack() {
-        finishList.parallelStream().forEach(u -> {
-            PERTVertex pu = get(u);
-            pu.slack = pu.LF - pu.EF;
-        });
+    public Edge addDependency(Vertex u, Vertex v) {
+        int from = u.getIndex(), to = v.getIndex();
+        if (from == to || (position[from] > position[to] && !reorder(from, to))) {
+            throw new IllegalArgumentException("Dependency " + u + " -> " + v + " would create a cycle.");
+        }
+        Edge e = g.addEdge(from, to, 0);
+        orderVersion = g.version(); // The order was kept topological by reorder()
+        update(to, from);
+        return e;
     }
 
-    // Topological sort to determine task ordering
     /**
-     * Computes the topological order of the vertices in the graph.
+     * Removes the dependency u -> v, if present, and updates the schedule incrementally.
      *
-     * This method performs a Depth-First Search (DFS) on the graph to determine
-     * the topological order of the vertices. It also checks for cycles in the graph.
-     * If a cycle is detected, the method returns null, indicating that no topological
-     * order exists.
+     * @return true if the dependency was removed
+     */
+    public boolean removeDependency(Vertex u, Vertex v) {
+        for (Edge e : g.outEdges(u)) {
+            if (e.toVertex().equals(v)) {
+                g.removeEdge(e);
+                orderVersion = g.version();
+                update(v.getIndex(), u.getIndex());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Propagates a change: ES/EF downstream starting at forwardSeed, in topological
+     * order, then LS/LF upstream starting at backwardSeed, in reverse topological order.
+     * Propagation stops at tasks whose values do not change.
+     */
+    private void update(int forwardSeed, int backwardSeed) {
+        if (forwardQueue == null) {
+            forwardQueue = new PositionQueue(position, false);
+            backwardQueue = new PositionQueue(position, true);
+        }
+        int oldCompletionTime = completionTime;
+        linksValid = false;
+
+        forwardQueue.add(forwardSeed);
+        while (!forwardQueue.isEmpty()) {
+            int u = forwardQueue.remove();
+            int start = earliestStart(u), oldStart = es[u];
+            es[u] = start;
+            changed(u);
+            int finish = start + duration[u];
+            // With lags, successors may also depend on the ES of u
+            if (finish != ef[u] || (lags && start != oldStart)) {
+                int oldFinish = ef[u];
+                ef[u] = finish;
+                finishChanged(oldFinish, finish);
+                updateSlack(u);
+                for (Edge e : g.outEdges(g.getVertex(u + 1))) {
+                    forwardQueue.add(e.toVertex().getIndex());
+                }
+            }
+        }
+
+        if (completionTime != oldCompletionTime) {
+            // Every LF is bounded by the completion time: redo the backward pass
+            backwardPass(completionTime);
+            calculateSlack();
+            return;
+        }
+
+        backwardQueue.add(backwardSeed);
+        while (!backwardQueue.isEmpty()) {
+            int u = backwardQueue.remove();
+            int finish = latestFinish(u, completionTime), oldFinish = lf[u];
+            lf[u] = finish;
+            changed(u);
+            updateSlack(u);
+            int start = finish - duration[u];
+            // With lags, predecessors may also depend on the LF of u
+            if (start != ls[u] || (lags && finish != oldFinish)) {
+                ls[u] = start;
+                for (Edge e : g.inEdges(g.getVertex(u + 1))) {
+                    backwardQueue.add(e.fromVertex().getIndex());
+                }
+            }
+        }
+    }
+
+    // Maintain completionTime and finishingAtCompletion when an EF changes
+    private void finishChanged(int oldFinish, int newFinish) {
+        if (oldFinish == completionTime) {
+            finishingAtCompletion--;
+        }
+        if (newFinish > completionTime) {
+            completionTime = newFinish;
+            finishingAtCompletion = 1;
+        } else if (newFinish == completionTime) {
+            finishingAtCompletion++;
+        }
+        if (finishingAtCompletion == 0) {
+            // The last task finishing at the completion time got earlier: rescan
+            calculateProjectCompletionTime();
+        }
+    }
+
+    // Record that the ES, LF or slack of u may have changed since the last snapshot
+    private void changed(int u) {
+        if (allChanged) {
+            return;
+        }
+        int c = u >>> Schedule.CHUNK_SHIFT;
+        if (!chunkChanged[c]) {
+            chunkChanged[c] = true;
+            changedChunks[changedCount++] = c;
+        }
+    }
+
+    // Recompute the slack of u, maintaining the number of critical vertices
+    private void updateSlack(int u) {
+        int s = lf[u] - ef[u];
+        if ((s == 0) != (slack[u] == 0)) {
+            criticalCount += s == 0 ? 1 : -1;
+        }
+        slack[u] = s;
+    }
+
+    /**
+     * Pearce-Kelly reordering for a new edge from -> to, where to currently comes
+     * before from. The vertices reachable from to (up to the position of from) and
+     * the vertices reaching from (down to the position of to) are reassigned their
+     * combined positions, the latter first. The work and the workspaces touched are
+     * bounded by the number of affected vertices and their edges.
      *
-     * @return A LinkedList of vertices in topological order if no cycle is detected,
-     *         otherwise null.
+     * @return false if from is reachable from to, i.e. the edge would close a cycle
+     */
+    private boolean reorder(int from, int to) {
+        int lower = position[to], upper = position[from];
+        if (visited == null || visited.length != order.length) {
+            visited = new boolean[order.length];
+        }
+
+        // Forward search from to, restricted to positions up to upper
+        int forward = collect(to, 0, lower, upper, true);
+        if (forward < 0) {
+            return false;
+        }
+        // Backward search from from, restricted to positions down to lower
+        int count = collect(from, forward, lower, upper, false);
+
+        // found[0..forward) reach from to, found[forward..count) reach from. Their
+        // positions, each group sorted, give the vertices in their old relative order
+        if (moved.length < count) {
+            moved = new int[Math.max(count, 2 * moved.length)];
+        }
+        for (int i = 0; i < count; i++) {
+            visited[found[i]] = false;
+            found[i] = position[found[i]];
+        }
+        Arrays.sort(found, 0, forward);
+        Arrays.sort(found, forward, count);
+        int k = 0;
+        for (int i = forward; i < count; i++) {
+            moved[k++] = order[found[i]];
+        }
+        for (int i = 0; i < forward; i++) {
+            moved[k++] = order[found[i]];
+        }
+        // The backward group takes the lowest of the combined positions
+        Arrays.sort(found, 0, count);
+        for (int i = 0; i < count; i++) {
+            order[found[i]] = moved[i];
+            position[moved[i]] = found[i];
+        }
+        return true;
+    }
+
+    /**
+     * Appends to found[count..] the vertices reachable from start (forward) or reaching
+     * start (backward) within positions [lower, upper], marking them visited.
+     *
+     * @return the new number of vertices in found, or -1 if a forward search reaches
+     *         position upper, i.e. the vertex at the other end (the marks are then cleared)
+     */
+    private int collect(int start, int count, int lower, int upper, boolean forward) {
+        int top = 0;
+        stack[top++] = start;
+        visited[start] = true;
+        while (top > 0) {
+            int u = stack[--top];
+            if (count == found.length) {
+                found = Arrays.copyOf(found, 2 * count);
+            }
+            found[count++] = u;
+            Vertex x = g.getVertex(u + 1);
+            for (Edge e : forward ? g.outEdges(x) : g.inEdges(x)) {
+                int v = (forward ? e.toVertex() : e.fromVertex()).getIndex();
+                if (forward && position[v] == upper) {
+                    for (int i = 0; i < count; i++) {
+                        visited[found[i]] = false;
+                    }
+                    for (int i = 0; i < top; i++) {
+                        visited[stack[i]] = false;
+                    }
+                    return -1;
+                }
+                if (!visited[v] && position[v] >= lower && position[v] <= upper) {
+                    visited[v] = true;
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, 2 * top);
+                    }
+                    stack[top++] = v;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Binary heap of vertex indices ordered by their position in the topological
+     * order (largest first if reverse). A vertex is queued at most once at a time.
      */
-    private LinkedList<Vertex> topologicalOrder() {
-        finishList = new LinkedList<>();
-        boolean[] explored = new boolean[g.size()]; // Tracks visited vertices
-        boolean[] onStack = new boolean[g.size()]; // Tracks recursion stack for cycle detection
+    private static class PositionQueue {
+        private final int[] position;
+        private final boolean reverse;
+        private final int[] heap;
+        private final boolean[] queued;
+        private int size;
 
-        for (Vertex u : g) {
-            if (!explored[u.getIndex()]) {
-                if (!dfs(u, explored, onStack)) {
-                    finishList.clear();
-                    return null; // Cycle detected, no topological order
+        PositionQueue(int[] position, boolean reverse) {
+            this.position = position;
+            this.reverse = reverse;
+            heap = new int[position.length];
+            queued = new boolean[position.length];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void add(int u) {
+            if (queued[u]) {
+                return;
+            }
+            queued[u] = true;
+            int i = size++;
+            while (i > 0 && before(u, heap[(i - 1) / 2])) {
+                heap[i] = heap[(i - 1) / 2];
+                i = (i - 1) / 2;
+            }
+            heap[i] = u;
+        }
+
+        int remove() {
+            int top = heap[0];
+            queued[top] = false;
+            int last = heap[--size];
+            int i = 0;
+            while (2 * i + 1 < size) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && before(heap[child + 1], heap[child])) {
+                    child++;
                 }
+                if (!before(heap[child], last)) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
             }
+            heap[i] = last;
+            return top;
+        }
+
+        private boolean before(int u, int v) {
+            return reverse ? position[u] > position[v] : position[u] < position[v];
         }
-        return finishList; // Return vertices in topological order
     }
 
-    // Depth-first search for cycle detection and topological sorting
     /**
-     * Performs a Depth-First Search (DFS) to detect cycles and generate a topological order.
+     * Counts the distinct critical paths: chains of critical tasks from a task with
+     * ES = 0 to a task with EF = project completion time, each task starting when its
+     * predecessor on the chain finishes. The count is computed in O(n+m) by dynamic
+     * programming over the tight links, and saturates at Long.MAX_VALUE, since
+     * there can be exponentially many critical paths.
      *
-     * @param u The current vertex being visited.
-     * @param explored An array indicating whether each vertex has been visited.
-     * @param onStack An array indicating whether each vertex is currently on the recursion stack.
-     * @return true if no cycle is detected, false if a cycle is detected.
+     * @return the number of critical paths, or 0 if the graph is not a DAG
+     * @throws UnsupportedOperationException if the schedule was computed with lags
      */
-    private boolean dfs(Vertex u, boolean[] explored, boolean[] onStack) {
-        explored[u.getIndex()] = true; // Mark the vertex as visited
-        onStack[u.getIndex()] = true; // Add to recursion stack
+    public long numCriticalPaths() {
+        requireNoLags();
+        if (order == null) {
+            return 0;
+        }
+        ensureLinks();
+        long[] paths = new long[order.length];  // number of critical paths from a source to u
+        boolean[] inner = new boolean[order.length];
+        long total = 0;
+        for (int u : order) {
+            if (slack[u] != 0) {
+                continue;
+            }
+            // The tight predecessors of a critical task are critical
+            long count = linkStart[u] == linkEnd[u] ? 1 : 0;
+            for (int k = linkStart[u]; k < linkEnd[u]; k++) {
+                count = saturatedAdd(count, paths[links[k]]);
+                inner[links[k]] = true;
+            }
+            paths[u] = count;
+        }
+        for (int u : order) {
+            if (slack[u] == 0 && !inner[u]) {
+                total = saturatedAdd(total, paths[u]);
+            }
+        }
+        return total;
+    }
 
-        for (Edge e : g.outEdges(u)) {
-            Vertex v = e.toVertex();
-            if (!explored[v.getIndex()]) {
-                if (!dfs(v, explored, onStack)) {
-                    return false; // Cycle detected
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    /**
+     * Enumerates the critical paths (see numCriticalPaths) lazily, one at a time.
+     * Each path is found by walking the tight links backward from its last task, so
+     * the next path costs time proportional to its length, and only the path being
+     * built is kept in memory. The iterator must not be used after the schedule changes.
+     *
+     * @return the critical paths, each as its tasks from first to last
+     * @throws UnsupportedOperationException if the schedule was computed with lags
+     */
+    public Iterable<List<Vertex>> criticalPaths() {
+        requireNoLags();
+        return CriticalPathIterator::new;
+    }
+
+    // With SS, FF or SF lags a tight predecessor of a critical task need not be critical,
+    // so the tight links do not describe the critical paths
+    private void requireNoLags() {
+        if (lags) {
+            throw new UnsupportedOperationException("Lags are not supported by critical path enumeration.");
+        }
+    }
+
+    /** Depth-first enumeration of the critical paths through the tight links */
+    private class CriticalPathIterator implements Iterator<List<Vertex>> {
+        // Critical tasks with a critical successor, i.e. not the last task of a path
+        private final boolean[] inner;
+        // The current partial path, from its last task path[0] back to path[top]
+        private final int[] path, cursor;
+        private int top = -1;
+        private int nextLast;
+        private boolean ready;
+
+        CriticalPathIterator() {
+            int n = order == null ? 0 : order.length;
+            inner = new boolean[n];
+            path = new int[n];
+            cursor = new int[n];
+            nextLast = n;
+            if (order != null) {
+                ensureLinks();
+                for (int u = 0; u < n; u++) {
+                    if (slack[u] == 0) {
+                        for (int k = linkStart[u]; k < linkEnd[u]; k++) {
+                            inner[links[k]] = true;
+                        }
+                    }
                 }
-            } else if (onStack[v.getIndex()]) {
-                return false; // Cycle detected
+                nextLast = 0;
             }
         }
 
-        onStack[u.getIndex()] = false; // Remove from recursion stack
-        finishList.addFirst(u); // Add vertex to topological order
-        return true;
+        public boolean hasNext() {
+            if (!ready) {
+                ready = advance();
+            }
+            return ready;
+        }
+
+        public List<Vertex> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ready = false;
+            List<Vertex> result = new ArrayList<>(top + 1);
+            for (int i = top; i >= 0; i--) {
+                result.add(g.getVertex(path[i] + 1));
+            }
+            return result;
+        }
+
+        // Extend the partial path until its first task has no tight predecessor
+        private boolean advance() {
+            if (top >= 0) {
+                top--; // Leave the first task of the previous path
+            }
+            while (true) {
+                if (top < 0) {
+                    while (nextLast < inner.length && (slack[nextLast] != 0 || inner[nextLast])) {
+                        nextLast++;
+                    }
+                    if (nextLast == inner.length) {
+                        return false;
+                    }
+                    push(nextLast++);
+                }
+                int u = path[top];
+                if (linkStart[u] == linkEnd[u]) {
+                    return true; // A task with ES = 0: the path is complete
+                }
+                if (cursor[top] < linkEnd[u]) {
+                    push(links[cursor[top]++]);
+                } else {
+                    top--;
+                }
+            }
+        }
+
+        private void push(int u) {
+            path[++top] = u;
+            cursor[top] = linkStart[u];
+        }
+    }
+
+    /**
+     * The k longest source-to-sink paths, bounded by the computed LS values
+     * (see LongestPaths; with lags, the lengths follow the edge offsets). Task
+     * indices in the paths are Vertex.getIndex() values.
+     *
+     * @return up to k paths, longest first, with their slack relative to criticalPath(),
+     *         or an empty list if the graph is not a DAG
+     */
+    public List<LongestPaths.Path> longestPaths(int k) {
+        if (order == null) {
+            return new ArrayList<>();
+        }
+        return LongestPaths.top(g.freeze(), duration, es, ls, completionTime, lags, k);
+    }
+
+    // Topological sort to determine task ordering
+    /**
+     * Computes the topological order of the vertices in the graph.
+     *
+     * The graph is frozen into its CSR form and sorted by a non-recursive
+     * Depth-First Search (see TopologicalSort), so deep dependency chains do not
+     * overflow the thread stack. If a cycle is detected, its vertices are kept in
+     * cycle and the method returns null, indicating that no topological order exists.
+     *
+     * @return An array of vertex indices in topological order if no cycle is detected,
+     *         otherwise null.
+     */
+    int[] topologicalOrder() {
+        TopologicalSort sort = new TopologicalSort(g.freeze());
+        if (!sort.sort()) {
+            cycle = sort.cycle();
+            return null; // Cycle detected, no topological order
+        }
+        cycle = null;
+        return sort.order(); // Return vertices in topological order
+    }
+
+    // Map an array of vertex indices to the corresponding vertices of g
+    private static List<Vertex> vertices(Graph g, int[] indices) {
+        List<Vertex> vertices = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            vertices.add(g.getVertex(index + 1));
+        }
+        return vertices;
+    }
+
+    /**
+     * Finds a cycle in the given directed graph.
+     *
+     * @param g the graph representing the project tasks and dependencies
+     * @return the vertices v1, ..., vk of a cycle (with edges v1->v2, ..., vk->v1),
+     *         or null if the graph is a DAG
+     */
+    public static List<Vertex> findCycle(Graph g) {
+        TopologicalSort sort = new TopologicalSort(g.freeze());
+        return sort.sort() ? null : vertices(g, sort.cycle());
     }
 
     // Static method to create a PERT instance and execute the algorithm
@@ -236,11 +929,24 @@ public class PERT extends GraphAlgorithm<PERT.PERTVertex> {
      * @throws IllegalArgumentException if the graph is null, the duration array is null, or the size of the graph does not match the length of the duration array
      */
     public static PERT pert(Graph g, int[] duration) {
+        return pert(g, duration, false);
+    }
+
+    /**
+     * Computes PERT for the given graph and duration array, using the weight of each
+     * edge as its lag and its type (FS, SS, FF, SF) as the precedence relation.
+     *
+     * @param lags whether to use edge weights and types; pert(g, duration) does not
+     * @return a PERT object, or null if the graph is not a DAG
+     * @throws IllegalArgumentException if the graph or the duration array is invalid
+     */
+    public static PERT pert(Graph g, int[] duration, boolean lags) {
         if (g == null || duration == null || g.size() != duration.length) {
             throw new IllegalArgumentException("Invalid graph or duration array.");
         }
 
         PERT p = new PERT(g);
+        p.lags = lags;
         for (Vertex u : g) {
             p.setDuration(u, duration[u.getIndex()]);
         }
@@ -248,44 +954,85 @@ public class PERT extends GraphAlgorithm<PERT.PERTVertex> {
         return p.pert() ? p : null;
     }
 
+    /**
+     * Returns the topological order used by the forward and backward passes.
+     *
+     * @return indices (Vertex.getIndex()) of the vertices in topological order,
+     *         or null if the graph is not a DAG
+     */
+    public int[] order() {
+        return order;
+    }
+
     // Getter for earliest completion time of a task
     public int ec(Vertex u) {
-        return get(u).ES;
+        return es[u.getIndex()];
     }
 
     // Getter for latest completion time of a task
     public int lc(Vertex u) {
-        return get(u).LF;
+        return lf[u.getIndex()];
     }
 
     // Getter for slack of a task
     public int slack(Vertex u) {
-        return get(u).slack;
+        return slack[u.getIndex()];
     }
 
     // Determines the critical path length (project completion time)
     public int criticalPath() {
-        int maxEF = 0;
-        for (Vertex u : g) {
-            maxEF = Math.max(maxEF, get(u).EF);
-        }
-        return maxEF;
+        return completionTime;
     }
 
     // Checks if a task is critical (no slack)
     public boolean critical(Vertex u) {
-        return get(u).slack == 0;
+        return slack[u.getIndex()] == 0;
     }
 
     // Counts the number of critical tasks
     public int numCritical() {
-        int count = 0;
-        for (Vertex u : g) {
-            if (critical(u)) {
-                count++;
+        return criticalCount;
+    }
+
+    /**
+     * Measurements of the phases of the PERT run (see PERTMetrics). Callers may
+     * add the READ phase of their input with PERTMetrics.record().
+     */
+    public PERTMetrics metrics() {
+        return metrics;
+    }
+
+    /** Writer of the schedule table of this run (see ScheduleWriter) */
+    public ScheduleWriter scheduleWriter() {
+        return new ScheduleWriter(duration, es, lf, slack);
+    }
+
+    /**
+     * Immutable copy of the current results, to be read by other threads. After
+     * incremental updates, only the chunks of the tasks they visited are copied,
+     * and the rest is shared with the previous snapshot.
+     *
+     * @param version version number of the snapshot (see SchedulePublisher)
+     */
+    public Schedule snapshot(long version) {
+        Schedule s;
+        if (allChanged || lastSnapshot == null) {
+            s = Schedule.of(version, es, lf, slack, completionTime);
+            if (chunkChanged == null) {
+                chunkChanged = new boolean[Schedule.chunks(es.length)];
+                changedChunks = new int[chunkChanged.length];
             }
+        } else {
+            s = Schedule.update(lastSnapshot, version, es, lf, slack, completionTime, criticalCount,
+                    changedChunks, changedCount);
         }
-        return count;
+        for (int i = 0; i < changedCount; i++) {
+            chunkChanged[changedChunks[i]] = false;
+        }
+        changedCount = 0;
+        allChanged = false;
+        lastSnapshot = s;
+        return s;
     }
 
     // Main method to test the PERT algorithm
@@ -313,10 +1060,7 @@ public class PERT extends GraphAlgorithm<PERT.PERTVertex> {
             System.out.println("Invalid graph: not a DAG.");
         } else {
             System.out.println("Number of critical vertices: " + p.numCritical());
-            System.out.println("u\tEC\tLC\tSlack\tCritical");
-            for (Vertex u : g) {
-                System.out.println(u + "\t" + p.ec(u) + "\t" + p.lc(u) + "\t" + p.slack(u) + "\t" + p.critical(u));
-            }
+            p.scheduleWriter().withDuration(false).write(System.out);
             System.out.println("Critical Path Length: " + p.criticalPath());
         }
     }
@@ -0,0 +1,186 @@
+// Change to your Folder name
+package ______;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Per-phase measurements of a PERT run: elapsed time, vertices and edges
+ * processed, and bytes allocated by the running thread.
+ *
+ * Every PERT object keeps one, readable with PERT.metrics() after the run. Time
+ * and counts cost two System.nanoTime() calls per phase. Allocated bytes are
+ * measured only when enabled with measureAllocation(true) (or the system property
+ * pert.metrics.allocation=true), or while a Flight Recorder recording has the
+ * pert.Phase event enabled. Each phase is also emitted as a pert.Phase JFR
+ * event; when no recording has it enabled, no event object is created.
+ */
+public class PERTMetrics {
+    /** Phases of an analysis */
+    public enum Phase { READ, TOPOLOGICAL_ORDER, FORWARD_PASS, BACKWARD_PASS, SLACK }
+
+    /** Flight Recorder event of one phase */
+    @Name("pert.Phase")
+    @Label("PERT Phase")
+    @Category("PERT")
+    @Description("One phase of a PERT analysis")
+    static class PhaseEvent extends Event {
+        @Label("Phase")
+        String phase;
+
+        @Label("Vertices")
+        long vertices;
+
+        @Label("Edges")
+        long edges;
+
+        @Label("Allocated")
+        @DataAmount
+        long allocatedBytes;
+    }
+
+    /**
+     * Never committed; only asked whether a recording has PhaseEvent enabled. Unlike
+     * EventType.getEventType(), this does not start the Flight Recorder machinery.
+     */
+    private static final PhaseEvent PROBE = new PhaseEvent();
+
+    private static volatile boolean measureAllocation = Boolean.getBoolean("pert.metrics.allocation");
+
+    private final long[] nanos = new long[Phase.values().length];
+    private final long[] vertices = new long[nanos.length];
+    private final long[] edges = new long[nanos.length];
+    private final long[] allocated = new long[nanos.length];
+
+    // State of the phase being measured
+    private long startNanos, startBytes;
+    private PhaseEvent event;
+
+    public PERTMetrics() {
+        Arrays.fill(allocated, -1);
+    }
+
+    /** Enables or disables the measurement of allocated bytes for all runs */
+    public static void measureAllocation(boolean enabled) {
+        measureAllocation = enabled;
+    }
+
+    /** Clears all measurements */
+    public void reset() {
+        for (int i = 0; i < nanos.length; i++) {
+            nanos[i] = vertices[i] = edges[i] = 0;
+            allocated[i] = -1;
+        }
+    }
+
+    /** Starts measuring a phase, ended by end() */
+    void begin() {
+        boolean recording = PROBE.isEnabled();
+        startBytes = (recording || measureAllocation) ? allocatedBytes() : -1;
+        if (recording) {
+            event = new PhaseEvent();
+            event.begin();
+        } else {
+            event = null;
+        }
+        startNanos = System.nanoTime();
+    }
+
+    /** Ends the phase started by begin(), recording its work */
+    void end(Phase phase, long vertexCount, long edgeCount) {
+        long elapsed = System.nanoTime() - startNanos;
+        record(phase, elapsed, vertexCount, edgeCount, startBytes < 0 ? -1 : allocatedBytes() - startBytes);
+        if (event != null) {
+            event.end();
+            event.phase = phase.name();
+            event.vertices = vertexCount;
+            event.edges = edgeCount;
+            event.allocatedBytes = allocated[phase.ordinal()];
+            event.commit();
+            event = null;
+        }
+    }
+
+    /**
+     * Records a phase measured elsewhere, e.g. the READ phase from GraphReader.
+     *
+     * @param allocatedBytes bytes allocated, or -1 if not measured
+     */
+    public void record(Phase phase, long elapsedNanos, long vertexCount, long edgeCount, long allocatedBytes) {
+        int i = phase.ordinal();
+        nanos[i] = elapsedNanos;
+        vertices[i] = vertexCount;
+        edges[i] = edgeCount;
+        allocated[i] = allocatedBytes;
+    }
+
+    /** Elapsed time of a phase in nanoseconds, 0 if it did not run */
+    public long nanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    /** Number of vertices processed by a phase */
+    public long vertices(Phase phase) {
+        return vertices[phase.ordinal()];
+    }
+
+    /** Number of edges processed by a phase */
+    public long edges(Phase phase) {
+        return edges[phase.ordinal()];
+    }
+
+    /** Bytes allocated during a phase, or -1 if not measured */
+    public long allocatedBytes(Phase phase) {
+        return allocated[phase.ordinal()];
+    }
+
+    /** Elapsed time of all phases in nanoseconds */
+    public long totalNanos() {
+        long total = 0;
+        for (long t : nanos) {
+            total += t;
+        }
+        return total;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Phase\tmsec\tVertices\tEdges\tAllocated\n");
+        for (Phase phase : Phase.values()) {
+            int i = phase.ordinal();
+            if (nanos[i] == 0 && vertices[i] == 0) {
+                continue;
+            }
+            sb.append(phase).append('\t').append(String.format("%.3f", nanos[i] / 1e6))
+                    .append('\t').append(vertices[i]).append('\t').append(edges[i])
+                    .append('\t').append(allocated[i] < 0 ? "-" : (allocated[i] / 1024) + " KB").append('\n');
+        }
+        return sb.append("Total\t").append(String.format("%.3f", totalNanos() / 1e6)).toString();
+    }
+
+    // Bytes allocated so far by the current thread, or -1 if not supported
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = Allocation.THREADS;
+        return threads == null ? -1 : threads.getCurrentThreadAllocatedBytes();
+    }
+
+    /** Thread bean measuring allocations, loaded on first use */
+    private static class Allocation {
+        static final com.sun.management.ThreadMXBean THREADS = threads();
+
+        private static com.sun.management.ThreadMXBean threads() {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean
+                    && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+                return (com.sun.management.ThreadMXBean) bean;
+            }
+            return null;
+        }
+    }
+}
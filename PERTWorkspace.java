@@ -0,0 +1,88 @@
+// Change to your Folder name
+package ______;
+
+/**
+ * Reusable PERT analysis of one Graph, for re-running with new durations.
+ *
+ * The workspace keeps the frozen graph, its topological order and the result
+ * arrays between runs. They are rebuilt only when Graph.version() has changed
+ * since the last run; otherwise a run copies the durations in and redoes the
+ * forward and backward passes in place, without allocating.
+ *
+ * The CompactPERT returned by pert() is the workspace's own, overwritten by
+ * the next run. Take a snapshot() to keep results across runs. A workspace
+ * created with lags runs as PERT.pert(g, duration, true).
+ */
+public class PERTWorkspace {
+    private final Graph g;
+
+    /** Graph.version() the order and arrays were built for, or -1 before the first run */
+    private long version = -1;
+
+    /** The reused results, or null if the graph had a cycle */
+    private CompactPERT p;
+
+    /** Whether edge weights are used as lags with the edge precedence types */
+    private final boolean lags;
+
+    /** Number of times the graph was frozen and sorted */
+    private int sorts;
+
+    public PERTWorkspace(Graph g) {
+        this(g, false);
+    }
+
+    /**
+     * @param lags whether to use the edge weights as lags (see PERT.pert(Graph, int[], boolean))
+     */
+    public PERTWorkspace(Graph g, boolean lags) {
+        if (g == null || !g.isDirected()) {
+            throw new IllegalArgumentException("Invalid graph: a directed graph is required.");
+        }
+        this.g = g;
+        this.lags = lags;
+    }
+
+    /**
+     * Runs PERT with the given durations, sorting the graph again only if it
+     * changed since the last run.
+     *
+     * @param duration duration of each task, indexed by Vertex.getIndex()
+     * @return the results, valid until the next run, or null if the graph is not a DAG
+     * @throws IllegalArgumentException if the duration array does not match the graph
+     */
+    public CompactPERT pert(int[] duration) {
+        if (duration == null || duration.length != g.size()) {
+            throw new IllegalArgumentException("Invalid duration array.");
+        }
+        if (version != g.version()) {
+            CompactGraph frozen = g.freeze();
+            int[] order = frozen.topologicalOrder();
+            sorts++;
+            version = g.version();
+            if (order == null) {
+                p = null;
+            } else {
+                p = new CompactPERT(frozen, new int[frozen.size()]);
+                p.order = order;
+                p.lags = lags;
+            }
+        }
+        if (p == null) {
+            return null;
+        }
+        System.arraycopy(duration, 0, p.duration, 0, duration.length);
+        p.pert();
+        return p;
+    }
+
+    // The graph analysed by this workspace
+    public Graph graph() {
+        return g;
+    }
+
+    // Number of times the graph was sorted, i.e. runs after a change of the graph
+    public int sortCount() {
+        return sorts;
+    }
+}
@@ -0,0 +1,220 @@
+// Change to your Folder name
+package ______;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Level-synchronous parallel PERT on a CompactGraph.
+ *
+ * The DAG is split into topological levels (wavefronts) by a parallel Kahn
+ * traversal: level 0 holds the vertices without predecessors, and level i+1 the
+ * vertices whose last predecessor is in level i. All predecessors of a vertex are
+ * in earlier levels, so the vertices of one level can be processed independently.
+ * The forward pass runs level by level, the backward pass in reverse level order,
+ * each level split into ranges on a ForkJoinPool. Levels smaller than the
+ * threshold are processed sequentially by the calling thread.
+ *
+ * The levels, concatenated, form the topological order of the resulting CompactPERT.
+ * With lags, each vertex is computed as by CompactPERT.pert(g, duration, true),
+ * from the times of its predecessors (successors), so the levels stay independent.
+ */
+public class ParallelPERT {
+    /** Default number of vertices below which a level is processed sequentially */
+    public static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+
+    /** Number of vertices processed by one leaf task */
+    static final int GRAIN = 1 << 11;
+
+    private final CompactGraph g;
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    /** Vertices of level i are order[levelOffsets[i] .. levelOffsets[i+1]) */
+    private int[] levelOffsets;
+    private int levels;
+
+    private ParallelPERT(CompactGraph g, ForkJoinPool pool, int threshold) {
+        this.g = g;
+        this.pool = pool;
+        this.threshold = Math.max(threshold, 1);
+    }
+
+    /**
+     * Runs PERT with the passes parallelized over the levels of the DAG.
+     *
+     * @param g the graph representing the project tasks and dependencies
+     * @param duration duration of each task, indexed by vertex index
+     * @param pool the pool running the parallel parts
+     * @param threshold levels (and vertex ranges) smaller than this run sequentially
+     * @return the PERT results, or null if the graph is not a DAG
+     * @throws IllegalArgumentException if the graph or the duration array is invalid
+     */
+    public static CompactPERT pert(CompactGraph g, int[] duration, ForkJoinPool pool, int threshold) {
+        return pert(g, duration, false, pool, threshold);
+    }
+
+    /**
+     * Runs PERT with the passes parallelized over the levels of the DAG, using the
+     * edge weights as lags with the precedence types of the edges if lags is set
+     * (see CompactPERT.pert(CompactGraph, int[], boolean)).
+     *
+     * @return the PERT results, or null if the graph is not a DAG
+     * @throws IllegalArgumentException if the graph or the duration array is invalid
+     */
+    public static CompactPERT pert(CompactGraph g, int[] duration, boolean lags, ForkJoinPool pool, int threshold) {
+        if (g == null || duration == null || g.size() != duration.length) {
+            throw new IllegalArgumentException("Invalid graph or duration array.");
+        }
+        ParallelPERT pp = new ParallelPERT(g, pool, threshold);
+        CompactPERT p = new CompactPERT(g, duration);
+        p.lags = lags;
+        p.order = pp.computeLevels();
+        if (p.order == null) {
+            return null;
+        }
+        pp.forwardPass(p);
+        pp.backwardPass(p);
+        pp.forEach(0, g.size(), (lo, hi) -> {
+            for (int u = lo; u < hi; u++) {
+                p.slack[u] = p.lf[u] - p.ef[u];
+            }
+        });
+        return p;
+    }
+
+    /** Runs PERT on the common pool with the default threshold */
+    public static CompactPERT pert(CompactGraph g, int[] duration) {
+        return pert(g, duration, false, ForkJoinPool.commonPool(), SEQUENTIAL_THRESHOLD);
+    }
+
+    /** Runs PERT on the common pool with the default threshold, with or without lags */
+    public static CompactPERT pert(CompactGraph g, int[] duration, boolean lags) {
+        return pert(g, duration, lags, ForkJoinPool.commonPool(), SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * Parallel Kahn traversal computing the levels.
+     *
+     * @return the vertices ordered by level, or null if the graph has a cycle
+     */
+    private int[] computeLevels() {
+        int n = g.size();
+        int[] outOffsets = g.outOffsets, outTargets = g.outTargets;
+        AtomicIntegerArray remaining = new AtomicIntegerArray(n);
+        int[] order = new int[n];
+        AtomicInteger tail = new AtomicInteger();
+
+        // Level 0: vertices without predecessors
+        int count = 0;
+        for (int u = 0; u < n; u++) {
+            int d = g.inDegree(u);
+            if (d == 0) {
+                order[count++] = u;
+            } else {
+                remaining.set(u, d);
+            }
+        }
+        tail.set(count);
+        int[] offsets = new int[16];
+        int level = 0;
+        int start = 0;
+        while (start < tail.get()) {
+            int end = tail.get();
+            if (level + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+            }
+            offsets[level] = start;
+            offsets[++level] = end;
+            forEach(start, end, (lo, hi) -> {
+                // Collect the vertices released by this range locally, then append them at once
+                int[] released = new int[16];
+                int found = 0;
+                for (int i = lo; i < hi; i++) {
+                    int u = order[i];
+                    for (int k = outOffsets[u], stop = outOffsets[u + 1]; k < stop; k++) {
+                        int v = outTargets[k];
+                        if (remaining.decrementAndGet(v) == 0) {
+                            if (found == released.length) {
+                                released = Arrays.copyOf(released, 2 * found);
+                            }
+                            released[found++] = v;
+                        }
+                    }
+                }
+                System.arraycopy(released, 0, order, tail.getAndAdd(found), found);
+            });
+            start = end;
+        }
+        levelOffsets = offsets;
+        levels = level;
+        return tail.get() == n ? order : null;
+    }
+
+    // Forward pass, one level at a time
+    private void forwardPass(CompactPERT p) {
+        AtomicInteger maxEF = new AtomicInteger();
+        int[] order = p.order;
+        for (int level = 0; level < levels; level++) {
+            forEach(levelOffsets[level], levelOffsets[level + 1], (lo, hi) -> {
+                int max = 0;
+                for (int i = lo; i < hi; i++) {
+                    max = Math.max(max, p.forward(order[i]));
+                }
+                maxEF.accumulateAndGet(max, Math::max);
+            });
+        }
+        p.completionTime = maxEF.get();
+    }
+
+    // Backward pass, one level at a time from the last level
+    private void backwardPass(CompactPERT p) {
+        int[] order = p.order;
+        for (int level = levels - 1; level >= 0; level--) {
+            forEach(levelOffsets[level], levelOffsets[level + 1], (lo, hi) -> {
+                for (int i = lo; i < hi; i++) {
+                    p.backward(order[i]);
+                }
+            });
+        }
+    }
+
+    /** Work on the index range [lo, hi) */
+    interface RangeBody {
+        void run(int lo, int hi);
+    }
+
+    // Run body over [lo, hi): sequentially if the range is small, otherwise split on the pool
+    private void forEach(int lo, int hi, RangeBody body) {
+        if (hi - lo < threshold) {
+            body.run(lo, hi);
+        } else {
+            pool.invoke(new RangeTask(lo, hi, body));
+        }
+    }
+
+    /** Recursively splits a range into leaf tasks of GRAIN indices. Never serialized. */
+    @SuppressWarnings("serial")
+    private static class RangeTask extends RecursiveAction {
+        private final int lo, hi;
+        private final RangeBody body;
+
+        RangeTask(int lo, int hi, RangeBody body) {
+            this.lo = lo;
+            this.hi = hi;
+            this.body = body;
+        }
+
+        protected void compute() {
+            if (hi - lo <= GRAIN) {
+                body.run(lo, hi);
+            } else {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new RangeTask(lo, mid, body), new RangeTask(mid, hi, body));
+            }
+        }
+    }
+}
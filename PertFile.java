@@ -0,0 +1,337 @@
+// Change to your Folder name
+package ______;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Versioned binary project file (.pert), loaded by memory-mapping.
+ *
+ * All values are little-endian 32-bit ints:
+ *
+ *     magic "PERT", version, flags, n, m
+ *     outOffsets[n+1], outTargets[m], outWeights[m]
+ *     inOffsets[n+1], inSources[m], inWeights[m]     if flags has IN_EDGES
+ *     duration[n]
+ *     order[n]                                        if flags has ORDER
+ *
+ * The edge arrays are the CSR arrays of a CompactGraph, so loading is a bulk
+ * copy out of the mapping with no per-edge parsing. Files written without the
+ * in-adjacency get it rebuilt from the out-adjacency on load. Edges have no
+ * precedence type, so every edge is finish-to-start: graphs with SS, FF or SF
+ * edges cannot be written.
+ */
+public class PertFile {
+    /** "PERT" in little-endian byte order */
+    public static final int MAGIC = 0x54524550;
+    public static final int VERSION = 1;
+
+    /** Flag: the topological order is stored after the durations */
+    public static final int ORDER = 1;
+    /** Flag: the in-adjacency is stored after the out-adjacency */
+    public static final int IN_EDGES = 2;
+
+    static final int HEADER_INTS = 5;
+
+    /** Largest number of ints copied from one mapped region */
+    private static final int MAP_INTS = 1 << 28;
+
+    /** Size of the write buffer */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    final CompactGraph graph;
+    final int[] duration;
+    final int[] order;
+
+    private PertFile(CompactGraph graph, int[] duration, int[] order) {
+        this.graph = graph;
+        this.duration = duration;
+        this.order = order;
+    }
+
+    /** The frozen project graph */
+    public CompactGraph graph() {
+        return graph;
+    }
+
+    /** Durations of the tasks, indexed by vertex index */
+    public int[] durations() {
+        return duration;
+    }
+
+    /** The cached topological order, or null if the file has none */
+    public int[] order() {
+        return order;
+    }
+
+    /** Run PERT on the loaded project, using the cached order if there is one */
+    public CompactPERT pert() {
+        return order != null ? CompactPERT.pert(graph, duration, order) : CompactPERT.pert(graph, duration);
+    }
+
+    /**
+     * Writes a project in .pert format.
+     *
+     * @param order topological order to cache, or null
+     * @throws IllegalArgumentException if an array is invalid or an edge is not finish-to-start
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(File f, CompactGraph g, int[] duration, int[] order) throws IOException {
+        if (g.size() != duration.length || (order != null && order.length != g.size())) {
+            throw new IllegalArgumentException("Invalid duration or order array.");
+        }
+        if (g.outTypes != null) {
+            for (byte type : g.outTypes) {
+                if (type != PERT.FS) {
+                    throw new IllegalArgumentException("The .pert format stores finish-to-start edges only.");
+                }
+            }
+        }
+        try (FileChannel fc = FileChannel.open(f.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Writer out = new Writer(fc);
+            out.header(g.n, g.m, IN_EDGES | (order != null ? ORDER : 0));
+            out.put(g.outOffsets);
+            out.put(g.outTargets);
+            out.put(g.outWeights);
+            out.put(g.inOffsets);
+            out.put(g.inSources);
+            out.put(g.inWeights);
+            out.put(duration);
+            if (order != null) {
+                out.put(order);
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * Loads a .pert file by memory-mapping it. The arrays are checked in O(n+m):
+     * offsets must be non-decreasing from 0 to m, every endpoint a vertex, and the
+     * cached order a topological order. An in-adjacency that does not match the
+     * out-adjacency is rebuilt from it.
+     *
+     * @throws IOException if the file cannot be read or is not a valid .pert file
+     */
+    public static PertFile load(File f) throws IOException {
+        try (FileChannel fc = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+            long size = fc.size();
+            if (size < HEADER_INTS * 4L) {
+                throw new IOException("Not a .pert file: " + f);
+            }
+            int[] header = new int[HEADER_INTS];
+            long position = read(fc, 0, header);
+            if (header[0] != MAGIC) {
+                throw new IOException("Not a .pert file: " + f);
+            }
+            if (header[1] != VERSION) {
+                throw new IOException("Unsupported .pert version " + header[1] + ": " + f);
+            }
+            int flags = header[2], n = header[3], m = header[4];
+            // n + 1 offsets must fit in an array, and the sizes are computed in long
+            if (n < 0 || n == Integer.MAX_VALUE || m < 0) {
+                throw new IOException("Corrupt .pert file: " + f);
+            }
+            long expected = 4L * (HEADER_INTS + (n + 1L) + 2L * m + n);
+            if ((flags & IN_EDGES) != 0) {
+                expected += 4L * ((n + 1L) + 2L * m);
+            }
+            if ((flags & ORDER) != 0) {
+                expected += 4L * n;
+            }
+            if (size != expected) {
+                throw new IOException("Corrupt .pert file: " + f);
+            }
+
+            int[] outOffsets = new int[n + 1], outTargets = new int[m], outWeights = new int[m];
+            position = read(fc, position, outOffsets);
+            position = read(fc, position, outTargets);
+            position = read(fc, position, outWeights);
+            int[] inOffsets = null, inSources = null, inWeights = null;
+            if ((flags & IN_EDGES) != 0) {
+                inOffsets = new int[n + 1];
+                inSources = new int[m];
+                inWeights = new int[m];
+                position = read(fc, position, inOffsets);
+                position = read(fc, position, inSources);
+                position = read(fc, position, inWeights);
+            }
+            int[] duration = new int[n];
+            position = read(fc, position, duration);
+            int[] order = null;
+            if ((flags & ORDER) != 0) {
+                order = new int[n];
+                read(fc, position, order);
+            }
+            if (!isAdjacency(n, m, outOffsets, outTargets) || (inOffsets != null && !isAdjacency(n, m, inOffsets, inSources))) {
+                throw new IOException("Corrupt .pert file: " + f);
+            }
+            if (inOffsets != null && !isInAdjacency(n, outOffsets, outTargets, outWeights, inOffsets, inSources, inWeights)) {
+                inOffsets = inSources = inWeights = null; // Rebuilt from the out-adjacency
+            }
+            if (order != null && !isTopologicalOrder(n, outOffsets, outTargets, order)) {
+                throw new IOException("Corrupt .pert file (invalid cached order): " + f);
+            }
+            CompactGraph g = new CompactGraph(n, outOffsets, outTargets, outWeights, inOffsets, inSources, inWeights);
+            return new PertFile(g, duration, order);
+        }
+    }
+
+    // Whether offsets (length n+1) go from 0 to m without decreasing, and every endpoint is in [0, n)
+    static boolean isAdjacency(int n, int m, int[] offsets, int[] endpoints) {
+        if (offsets[0] != 0 || offsets[n] != m) {
+            return false;
+        }
+        for (int u = 0; u < n; u++) {
+            if (offsets[u] > offsets[u + 1]) {
+                return false;
+            }
+        }
+        for (int k = 0; k < m; k++) {
+            if (endpoints[k] < 0 || endpoints[k] >= n) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Whether the in-adjacency lists the out-edges of each vertex by increasing tail,
+    // as written by write() for a graph from Graph.freeze() or PertFile.load()
+    static boolean isInAdjacency(int n, int[] outOffsets, int[] outTargets, int[] outWeights,
+                                 int[] inOffsets, int[] inSources, int[] inWeights) {
+        int[] inCursor = new int[n];
+        System.arraycopy(inOffsets, 0, inCursor, 0, n);
+        for (int u = 0; u < n; u++) {
+            for (int k = outOffsets[u], end = outOffsets[u + 1]; k < end; k++) {
+                int v = outTargets[k];
+                int q = inCursor[v]++;
+                if (q >= inOffsets[v + 1] || inSources[q] != u || inWeights[q] != outWeights[k]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Whether order is a permutation of 0..n-1 in which every edge goes forward
+    static boolean isTopologicalOrder(int n, int[] outOffsets, int[] outTargets, int[] order) {
+        int[] position = new int[n];
+        Arrays.fill(position, -1);
+        for (int i = 0; i < n; i++) {
+            int u = order[i];
+            if (u < 0 || u >= n || position[u] >= 0) {
+                return false;
+            }
+            position[u] = i;
+        }
+        for (int u = 0; u < n; u++) {
+            for (int k = outOffsets[u], end = outOffsets[u + 1]; k < end; k++) {
+                if (position[outTargets[k]] <= position[u]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Copy ints from the file starting at position into dst; returns the position after them
+    private static long read(FileChannel fc, long position, int[] dst) throws IOException {
+        for (int done = 0; done < dst.length; ) {
+            int count = Math.min(MAP_INTS, dst.length - done);
+            IntBuffer ints = fc.map(FileChannel.MapMode.READ_ONLY, position, 4L * count)
+                    .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            ints.get(dst, done, count);
+            position += 4L * count;
+            done += count;
+        }
+        return position;
+    }
+
+    /**
+     * Buffered little-endian int writer on a channel. Used by write(), by
+     * generators that stream a .pert file array by array, and for other
+     * binary outputs in the same layout.
+     */
+    static class Writer {
+        private final WritableByteChannel fc;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        Writer(WritableByteChannel fc) {
+            this.fc = fc;
+        }
+
+        void header(int n, int m, int flags) throws IOException {
+            put(MAGIC);
+            put(VERSION);
+            put(flags);
+            put(n);
+            put(m);
+        }
+
+        void put(int value) throws IOException {
+            if (buffer.remaining() < 4) {
+                drain();
+            }
+            buffer.putInt(value);
+        }
+
+        void put(int[] values) throws IOException {
+            for (int done = 0; done < values.length; ) {
+                if (buffer.remaining() < 4) {
+                    drain();
+                }
+                int count = Math.min(buffer.remaining() / 4, values.length - done);
+                buffer.asIntBuffer().put(values, done, count);
+                buffer.position(buffer.position() + 4 * count);
+                done += count;
+            }
+        }
+
+        void flush() throws IOException {
+            drain();
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                fc.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Converts text project files to .pert files, caching the topological order
+     * of each DAG.  Usage: PertFile input.txt [output.pert]
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.out.println("Usage: PertFile input.txt [output.pert]");
+            return;
+        }
+        File in = new File(args[0]);
+        File out = new File(args.length > 1 ? args[1] : args[0].replaceFirst("\\.txt$", "") + ".pert");
+
+        GraphReader reader = GraphReader.read(in);
+        System.out.println(reader);
+        CompactGraph g = reader.compactGraph();
+        TopologicalSort sort = new TopologicalSort(g);
+        if (!sort.sort()) {
+            System.out.println("Graph is not a DAG. No order cached.");
+        }
+        write(out, g, reader.durations(), sort.order());
+
+        long start = System.nanoTime();
+        PertFile loaded = load(out);
+        long elapsed = System.nanoTime() - start;
+        System.out.println("Wrote " + out + " (" + (out.length() / 1024) + " KB). Load time: "
+                + (elapsed / 1000000) + " msec. n: " + loaded.graph.size() + ", m: " + loaded.graph.edgeSize());
+    }
+}
@@ -0,0 +1,285 @@
+// Change to your Folder name
+package ______;
+
+import java.io.File;
+import java.util.Arrays;
+
+/**
+ * Resource-constrained list scheduling driven by the results of PERT.
+ *
+ * Each task needs demand[k][u] units of resource k while it runs, and at most
+ * capacity[k] units of resource k are available at any time. Tasks are started
+ * at event times (time 0 and task finishing times): at each event, the ready
+ * task of highest priority that fits in the free resources is started, until
+ * none fits. Priority is by least LS (latest start) or least slack from the
+ * PERT run, ties by task index.
+ *
+ * Ready tasks are kept in a segment tree over the tasks in priority order, each
+ * node holding the number of ready tasks below it and the least demand of each
+ * resource among them, so the first ready task that fits is found by one
+ * descent. Running tasks are kept in a binary heap of long keys (finish time,
+ * task). With one resource type the whole schedule takes O((n+m) log n); with
+ * several, the descent may have to backtrack when no single task fits all free
+ * amounts. With no resource types every ready task starts at once.
+ *
+ * A task becomes ready when all its predecessors have finished, so only
+ * finish-to-start precedence without lags is scheduled: results of a run with
+ * lags are rejected.
+ */
+public class ResourceScheduler {
+    /** Priority rules */
+    public enum Priority { LATEST_START, SLACK }
+
+    // Demand stored in the leaves of tasks that are not ready; neutral for min
+    private static final int NOT_READY = Integer.MAX_VALUE;
+
+    private final CompactPERT p;
+    private final int[][] demand;
+    private final int[] capacity;
+    private Priority priority = Priority.LATEST_START;
+
+    /**
+     * Prepares scheduling of the tasks analysed by p.
+     *
+     * @param demand demand[k][u] is the amount of resource k needed by task u
+     * @param capacity capacity[k] is the amount of resource k available
+     * @throws IllegalArgumentException if p was run with lags, the arrays are invalid or a
+     *         task needs more than a capacity
+     */
+    public ResourceScheduler(CompactPERT p, int[][] demand, int[] capacity) {
+        if (p.lags) {
+            throw new IllegalArgumentException("Lags are not supported by resource scheduling.");
+        }
+        int n = p.g.size();
+        if (demand == null || capacity == null || demand.length != capacity.length) {
+            throw new IllegalArgumentException("Invalid demand or capacity array.");
+        }
+        for (int k = 0; k < capacity.length; k++) {
+            if (demand[k] == null || demand[k].length != n || capacity[k] < 0) {
+                throw new IllegalArgumentException("Invalid demand or capacity of resource " + k + ".");
+            }
+            for (int u = 0; u < n; u++) {
+                if (demand[k][u] < 0 || demand[k][u] > capacity[k]) {
+                    throw new IllegalArgumentException("Task " + (u + 1) + " needs " + demand[k][u]
+                            + " units of resource " + k + ", capacity " + capacity[k] + ".");
+                }
+            }
+        }
+        this.p = p;
+        this.demand = demand;
+        this.capacity = capacity;
+    }
+
+    public ResourceScheduler priority(Priority priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    /** A feasible schedule */
+    public static class Result {
+        final int[] start;
+        final int[] finish;
+        final int makespan, criticalPath;
+
+        Result(int[] start, int[] finish, int makespan, int criticalPath) {
+            this.start = start;
+            this.finish = finish;
+            this.makespan = makespan;
+            this.criticalPath = criticalPath;
+        }
+
+        // Start time of the task with index u
+        public int start(int u) {
+            return start[u];
+        }
+
+        // Finish time of the task with index u
+        public int finish(int u) {
+            return finish[u];
+        }
+
+        // Completion time of the schedule
+        public int makespan() {
+            return makespan;
+        }
+
+        // Completion time without resource constraints (PERT critical path length)
+        public int criticalPath() {
+            return criticalPath;
+        }
+
+        // Delay caused by the resource constraints
+        public int makespanIncrease() {
+            return makespan - criticalPath;
+        }
+    }
+
+    /** Computes a schedule by list scheduling */
+    public Result schedule() {
+        CompactGraph g = p.g;
+        int n = g.size();
+        int resources = capacity.length;
+
+        // Tasks in priority order; rank[u] is the leaf of u in the tree
+        long[] keys = new long[n];
+        for (int u = 0; u < n; u++) {
+            long value = priority == Priority.SLACK ? p.slack[u] : p.ls[u];
+            keys[u] = value << 32 | u;
+        }
+        Arrays.sort(keys);
+        int leaves = Integer.highestOneBit(Math.max(n - 1, 1)) << 1;
+        int[] task = new int[leaves];
+        int[] rank = new int[n];
+        Arrays.fill(task, -1);
+        for (int i = 0; i < n; i++) {
+            int u = (int) keys[i];
+            task[i] = u;
+            rank[u] = i;
+        }
+        int[][] least = new int[resources][2 * leaves];
+        for (int[] tree : least) {
+            Arrays.fill(tree, NOT_READY);
+        }
+        int[] ready = new int[2 * leaves];  // ready tasks below each node
+
+        int[] free = capacity.clone();
+        int[] waiting = new int[n];  // unfinished predecessors
+        for (int u = 0; u < n; u++) {
+            waiting[u] = g.inDegree(u);
+            if (waiting[u] == 0) {
+                setReady(least, ready, leaves + rank[u], u, true);
+            }
+        }
+
+        int[] start = new int[n], finish = new int[n];
+        long[] running = new long[n];
+        int size = 0, scheduled = 0, time = 0;
+        int[] outOffsets = g.outOffsets, outTargets = g.outTargets;
+        while (scheduled < n || size > 0) {
+            // Start the ready tasks that fit, in priority order
+            int leaf;
+            while ((leaf = fitting(least, ready, 1, leaves, free)) >= 0) {
+                int u = task[leaf - leaves];
+                setReady(least, ready, leaf, u, false);
+                for (int k = 0; k < resources; k++) {
+                    free[k] -= demand[k][u];
+                }
+                start[u] = time;
+                finish[u] = time + p.duration[u];
+                size = push(running, size, (long) finish[u] << 32 | u);
+                scheduled++;
+            }
+            if (size == 0) {
+                break;
+            }
+            // Advance to the next finishing time and release its tasks
+            time = (int) (running[0] >>> 32);
+            while (size > 0 && (int) (running[0] >>> 32) == time) {
+                int u = (int) running[0];
+                size = pop(running, size);
+                for (int k = 0; k < resources; k++) {
+                    free[k] += demand[k][u];
+                }
+                for (int e = outOffsets[u], end = outOffsets[u + 1]; e < end; e++) {
+                    int v = outTargets[e];
+                    if (--waiting[v] == 0) {
+                        setReady(least, ready, leaves + rank[v], v, true);
+                    }
+                }
+            }
+        }
+        if (scheduled < n) {
+            throw new IllegalStateException("Not all tasks could be scheduled.");
+        }
+        int makespan = 0;
+        for (int f : finish) {
+            makespan = Math.max(makespan, f);
+        }
+        return new Result(start, finish, makespan, p.criticalPath());
+    }
+
+    // Mark the leaf of task u as ready (with its demands) or not, and update its ancestors
+    private void setReady(int[][] least, int[] ready, int leaf, int u, boolean isReady) {
+        int delta = isReady ? 1 : -1;
+        for (int i = leaf; i > 0; i >>>= 1) {
+            ready[i] += delta;
+        }
+        for (int k = 0; k < least.length; k++) {
+            int[] tree = least[k];
+            tree[leaf] = isReady ? demand[k][u] : NOT_READY;
+            for (int i = leaf >>> 1; i > 0; i >>>= 1) {
+                tree[i] = Math.min(tree[2 * i], tree[2 * i + 1]);
+            }
+        }
+    }
+
+    // Leftmost ready leaf below node whose demands fit in free, or -1
+    private static int fitting(int[][] least, int[] ready, int node, int leaves, int[] free) {
+        if (ready[node] == 0) {
+            return -1;
+        }
+        for (int k = 0; k < least.length; k++) {
+            if (least[k][node] > free[k]) {
+                return -1;
+            }
+        }
+        if (node >= leaves) {
+            return node;
+        }
+        int leaf = fitting(least, ready, 2 * node, leaves, free);
+        return leaf >= 0 ? leaf : fitting(least, ready, 2 * node + 1, leaves, free);
+    }
+
+    // Binary min-heap of long keys in heap[0..size-1]; returns the new size
+    private static int push(long[] heap, int size, long key) {
+        int i = size++;
+        while (i > 0 && key < heap[(i - 1) / 2]) {
+            heap[i] = heap[(i - 1) / 2];
+            i = (i - 1) / 2;
+        }
+        heap[i] = key;
+        return size;
+    }
+
+    private static int pop(long[] heap, int size) {
+        long last = heap[--size];
+        int i = 0;
+        while (2 * i + 1 < size) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= last) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return size;
+    }
+
+    /**
+     * Schedules a project on a pool of workers, each task taking one worker.
+     * Usage: ResourceScheduler input workers
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.out.println("Usage: ResourceScheduler input workers");
+            return;
+        }
+        GraphReader reader = GraphReader.read(new File(args[0]));
+        CompactPERT p = CompactPERT.pert(reader.compactGraph(), reader.durations());
+        if (p == null) {
+            System.out.println("Invalid graph: not a DAG");
+            return;
+        }
+        int[] demand = new int[p.g.size()];
+        Arrays.fill(demand, 1);
+        long start = System.nanoTime();
+        Result r = new ResourceScheduler(p, new int[][] {demand}, new int[] {Integer.parseInt(args[1])}).schedule();
+        long elapsed = System.nanoTime() - start;
+        System.out.println("Critical Path Length: " + r.criticalPath() + ", makespan: " + r.makespan()
+                + " (+" + r.makespanIncrease() + ") in " + (elapsed / 1000000) + " msec.");
+    }
+}
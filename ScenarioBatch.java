@@ -0,0 +1,172 @@
+// Change to your Folder name
+package ______;
+
+/**
+ * Batched what-if evaluation of many duration vectors over one dependency graph.
+ *
+ * The topological order is computed once, when the batch is created. Scenarios
+ * are then evaluated in blocks of up to blockSize at a time. Within a block, the
+ * values of vertex u for all scenarios are stored next to each other
+ * (array[u * width + k] for scenario k). Each edge is thus visited once per
+ * block, and the inner loop over the scenarios of a block runs over contiguous
+ * int ranges, which the JIT compiler vectorizes.
+ */
+public class ScenarioBatch {
+    /** Default number of scenarios evaluated together */
+    public static final int BLOCK_SIZE = 16;
+
+    /** Largest length of the block buffers, below the array size limit of the JVM */
+    private static final int MAX_BUFFER = Integer.MAX_VALUE - 8;
+
+    private final CompactGraph g;
+    private final int[] order;
+    private final int blockSize;
+
+    // Block buffers: durations, EF and LS of every vertex for each scenario of a block
+    private int[] dur, ef, ls;
+
+    /**
+     * Prepares a batch over graph g.
+     *
+     * @param blockSize number of scenarios evaluated together
+     * @throws IllegalArgumentException if g is not a DAG
+     */
+    public ScenarioBatch(CompactGraph g, int blockSize) {
+        TopologicalSort sort = new TopologicalSort(g);
+        if (!sort.sort()) {
+            throw new IllegalArgumentException("Graph is not a DAG.");
+        }
+        this.g = g;
+        this.order = sort.order();
+        this.blockSize = Math.max(blockSize, 1);
+    }
+
+    public ScenarioBatch(CompactGraph g) {
+        this(g, BLOCK_SIZE);
+    }
+
+    /** Per-scenario results of one evaluate() call */
+    public static class Result {
+        final int[] completionTime;
+        final int[] numCritical;
+        final long nanos;
+
+        Result(int[] completionTime, int[] numCritical, long nanos) {
+            this.completionTime = completionTime;
+            this.numCritical = numCritical;
+            this.nanos = nanos;
+        }
+
+        /** Project completion time of scenario k */
+        public int criticalPath(int k) {
+            return completionTime[k];
+        }
+
+        /** Number of critical tasks of scenario k */
+        public int numCritical(int k) {
+            return numCritical[k];
+        }
+
+        /** Evaluation throughput in scenarios per second */
+        public double scenariosPerSecond() {
+            return nanos == 0 ? 0 : completionTime.length / (nanos / 1e9);
+        }
+    }
+
+    /**
+     * Evaluates PERT for each duration vector.
+     *
+     * @param durations durations[k] holds the task durations of scenario k, indexed by vertex index
+     * @return completion time and number of critical tasks of each scenario
+     * @throws IllegalArgumentException if a duration vector does not match the graph, or a
+     *         block of scenarios needs buffers larger than an array (n * blockSize values)
+     */
+    public Result evaluate(int[][] durations) {
+        int n = g.size();
+        for (int[] d : durations) {
+            if (d == null || d.length != n) {
+                throw new IllegalArgumentException("Invalid duration array.");
+            }
+        }
+        int scenarios = durations.length;
+        if ((long) n * Math.min(blockSize, scenarios) > MAX_BUFFER) {
+            throw new IllegalArgumentException("Block of " + Math.min(blockSize, scenarios) + " scenarios over "
+                    + n + " tasks is too large; use a smaller block size.");
+        }
+        long start = System.nanoTime();
+        int[] completion = new int[scenarios];
+        int[] critical = new int[scenarios];
+        for (int first = 0; first < scenarios; first += blockSize) {
+            int width = Math.min(blockSize, scenarios - first);
+            evaluateBlock(durations, first, width, completion, critical);
+        }
+        return new Result(completion, critical, System.nanoTime() - start);
+    }
+
+    // Evaluate scenarios first .. first+width-1 together
+    private void evaluateBlock(int[][] durations, int first, int width, int[] completion, int[] critical) {
+        int n = g.size();
+        int size = n * width; // Checked against MAX_BUFFER by evaluate()
+        if (dur == null || dur.length < size) {
+            dur = new int[size];
+            ef = new int[size];
+            ls = new int[size];
+        }
+        // Transpose the durations into vertex-major, scenario-minor layout
+        for (int k = 0; k < width; k++) {
+            int[] d = durations[first + k];
+            for (int u = 0; u < n; u++) {
+                dur[u * width + k] = d[u];
+            }
+        }
+
+        // Forward pass: EF block of u = max EF block of predecessors + duration block of u
+        int[] inOffsets = g.inOffsets, inSources = g.inSources;
+        int[] maxEF = new int[width];
+        for (int u : order) {
+            int base = u * width;
+            for (int k = 0; k < width; k++) {
+                ef[base + k] = 0;
+            }
+            for (int e = inOffsets[u], end = inOffsets[u + 1]; e < end; e++) {
+                int pred = inSources[e] * width;
+                for (int k = 0; k < width; k++) {
+                    ef[base + k] = Math.max(ef[base + k], ef[pred + k]);
+                }
+            }
+            for (int k = 0; k < width; k++) {
+                ef[base + k] += dur[base + k];
+                maxEF[k] = Math.max(maxEF[k], ef[base + k]);
+            }
+        }
+
+        // Backward pass: LS block of u = min LS block of successors (or completion time) - duration block of u
+        int[] outOffsets = g.outOffsets, outTargets = g.outTargets;
+        int[] count = new int[width];
+        for (int i = order.length - 1; i >= 0; i--) {
+            int u = order[i];
+            int base = u * width;
+            for (int k = 0; k < width; k++) {
+                ls[base + k] = maxEF[k];
+            }
+            for (int e = outOffsets[u], end = outOffsets[u + 1]; e < end; e++) {
+                int succ = outTargets[e] * width;
+                for (int k = 0; k < width; k++) {
+                    ls[base + k] = Math.min(ls[base + k], ls[succ + k]);
+                }
+            }
+            // ls holds LF here; slack = LF - EF
+            for (int k = 0; k < width; k++) {
+                if (ls[base + k] == ef[base + k]) {
+                    count[k]++;
+                }
+                ls[base + k] -= dur[base + k];
+            }
+        }
+
+        for (int k = 0; k < width; k++) {
+            completion[first + k] = maxEF[k];
+            critical[first + k] = count[k];
+        }
+    }
+}
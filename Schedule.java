@@ -0,0 +1,149 @@
+// Change to your Folder name
+package ______;
+
+import ______.Graph.Vertex;
+
+/**
+ * Immutable snapshot of the results of a PERT run, safe to read from any number
+ * of threads without locking.
+ *
+ * The values of each task are stored next to each other (ES, LF, slack), so a
+ * query touches one cache line, in chunks of CHUNK tasks. A snapshot never
+ * changes after construction; newer results are published as new snapshots (see
+ * SchedulePublisher), each with a larger version number. A snapshot taken after
+ * an incremental update copies only the chunks holding changed tasks and shares
+ * the others with the previous snapshot.
+ */
+public final class Schedule {
+    private static final int STRIDE = 3;
+    private static final int ES = 0, LF = 1, SLACK = 2;
+
+    /** Tasks per chunk, as a power of two */
+    static final int CHUNK_SHIFT = 10;
+    static final int CHUNK = 1 << CHUNK_SHIFT;
+
+    private final long version;
+    private final int size;
+    private final int[][] chunks;
+    private final int completionTime;
+    private final int numCritical;
+
+    private Schedule(long version, int size, int[][] chunks, int completionTime, int numCritical) {
+        this.version = version;
+        this.size = size;
+        this.chunks = chunks;
+        this.completionTime = completionTime;
+        this.numCritical = numCritical;
+    }
+
+    /**
+     * Copies the results of a PERT run.
+     *
+     * @param es earliest start of each task, indexed by vertex index
+     * @param lf latest finish of each task
+     * @param slack slack of each task
+     */
+    static Schedule of(long version, int[] es, int[] lf, int[] slack, int completionTime) {
+        int n = es.length;
+        int[][] chunks = new int[chunks(n)][];
+        for (int c = 0; c < chunks.length; c++) {
+            chunks[c] = chunk(c, es, lf, slack);
+        }
+        int critical = 0;
+        for (int u = 0; u < n; u++) {
+            if (slack[u] == 0) {
+                critical++;
+            }
+        }
+        return new Schedule(version, n, chunks, completionTime, critical);
+    }
+
+    /**
+     * Copies the results of a PERT run that differ from previous only in some chunks,
+     * sharing the other chunks with previous.
+     *
+     * @param changed changed[0..count-1] are the indices of the chunks to copy
+     * @param numCritical number of tasks with slack 0
+     */
+    static Schedule update(Schedule previous, long version, int[] es, int[] lf, int[] slack,
+                           int completionTime, int numCritical, int[] changed, int count) {
+        int[][] chunks = previous.chunks.clone();
+        for (int i = 0; i < count; i++) {
+            chunks[changed[i]] = chunk(changed[i], es, lf, slack);
+        }
+        return new Schedule(version, previous.size, chunks, completionTime, numCritical);
+    }
+
+    // Number of chunks holding n tasks
+    static int chunks(int n) {
+        return (n + CHUNK - 1) >>> CHUNK_SHIFT;
+    }
+
+    // The interleaved values of the tasks of chunk c
+    private static int[] chunk(int c, int[] es, int[] lf, int[] slack) {
+        int first = c << CHUNK_SHIFT, last = Math.min(es.length, first + CHUNK);
+        int[] values = new int[STRIDE * (last - first)];
+        for (int u = first, i = 0; u < last; u++, i += STRIDE) {
+            values[i + ES] = es[u];
+            values[i + LF] = lf[u];
+            values[i + SLACK] = slack[u];
+        }
+        return values;
+    }
+
+    /** Version of the results; later publications have larger versions */
+    public long version() {
+        return version;
+    }
+
+    /** Number of tasks */
+    public int size() {
+        return size;
+    }
+
+    // Getter for earliest completion time of the task with index u
+    public int ec(int u) {
+        return chunks[u >>> CHUNK_SHIFT][STRIDE * (u & (CHUNK - 1)) + ES];
+    }
+
+    // Getter for latest completion time of the task with index u
+    public int lc(int u) {
+        return chunks[u >>> CHUNK_SHIFT][STRIDE * (u & (CHUNK - 1)) + LF];
+    }
+
+    // Getter for slack of the task with index u
+    public int slack(int u) {
+        return chunks[u >>> CHUNK_SHIFT][STRIDE * (u & (CHUNK - 1)) + SLACK];
+    }
+
+    // Checks if the task with index u is critical (no slack)
+    public boolean critical(int u) {
+        return slack(u) == 0;
+    }
+
+    public int ec(Vertex u) {
+        return ec(u.getIndex());
+    }
+
+    public int lc(Vertex u) {
+        return lc(u.getIndex());
+    }
+
+    public int slack(Vertex u) {
+        return slack(u.getIndex());
+    }
+
+    public boolean critical(Vertex u) {
+        return critical(u.getIndex());
+    }
+
+    // Critical path length (project completion time)
+    public int criticalPath() {
+        return completionTime;
+    }
+
+    // Number of critical tasks
+    public int numCritical() {
+        return numCritical;
+    }
+}
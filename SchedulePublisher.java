@@ -0,0 +1,45 @@
+// Change to your Folder name
+package ______;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Copy-on-write publication of PERT results.
+ *
+ * A background thread runs or updates PERT and publishes a Schedule snapshot of
+ * the results. Query threads call current() and read the snapshot it returns:
+ * a single volatile read, after which all values of that version are visible.
+ * Readers never block and never see a partially updated pass. A snapshot is
+ * only replaced by one with a larger version, even if publishers race.
+ */
+public class SchedulePublisher {
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicReference<Schedule> current = new AtomicReference<>();
+
+    /** The latest published snapshot, or null if nothing was published yet */
+    public Schedule current() {
+        return current.get();
+    }
+
+    /** Version of the latest published snapshot, or 0 if nothing was published yet */
+    public long version() {
+        Schedule s = current.get();
+        return s == null ? 0 : s.version();
+    }
+
+    /** Publishes a snapshot of the current results of p */
+    public Schedule publish(PERT p) {
+        return publish(p.snapshot(versions.incrementAndGet()));
+    }
+
+    /** Publishes a snapshot of the results of p */
+    public Schedule publish(CompactPERT p) {
+        return publish(p.snapshot(versions.incrementAndGet()));
+    }
+
+    private Schedule publish(Schedule s) {
+        current.accumulateAndGet(s, (old, next) -> old == null || next.version() > old.version() ? next : old);
+        return s;
+    }
+}
@@ -0,0 +1,190 @@
+// Change to your Folder name
+package ______;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Export of the per-task schedule table (EC, LC, slack, critical) of a PERT run.
+ *
+ * Text rows are formatted into a reusable buffer by TextOutput, with no String
+ * per row. The binary form is columnar: little-endian ints
+ *
+ *     magic "SCHD", version, rows
+ *     task[rows], duration[rows], ec[rows], lc[rows], slack[rows]
+ *
+ * with tasks numbered from 1. Rows can be restricted to critical or
+ * near-critical tasks with maxSlack.
+ */
+public class ScheduleWriter {
+    /** Output formats */
+    public enum Format { TSV, CSV, BINARY }
+
+    /** "SCHD" in little-endian byte order */
+    public static final int MAGIC = 0x44484353;
+    public static final int VERSION = 1;
+
+    private final int[] duration, es, lf, slack;
+    private Format format = Format.TSV;
+    private int maxSlack = Integer.MAX_VALUE;
+    private boolean withDuration = true;
+    private boolean header = true;
+
+    /** Writer of the table given by the arrays of a PERT run, indexed by vertex index */
+    ScheduleWriter(int[] duration, int[] es, int[] lf, int[] slack) {
+        this.duration = duration;
+        this.es = es;
+        this.lf = lf;
+        this.slack = slack;
+    }
+
+    public ScheduleWriter format(Format format) {
+        this.format = format;
+        return this;
+    }
+
+    /** Write only the tasks with slack at most maxSlack; 0 for the critical tasks only */
+    public ScheduleWriter maxSlack(int maxSlack) {
+        this.maxSlack = maxSlack;
+        return this;
+    }
+
+    /** Whether text output has a duration column (default true) */
+    public ScheduleWriter withDuration(boolean withDuration) {
+        this.withDuration = withDuration;
+        return this;
+    }
+
+    /** Whether text output starts with a header line (default true) */
+    public ScheduleWriter header(boolean header) {
+        this.header = header;
+        return this;
+    }
+
+    /**
+     * Writes the table to a stream. The stream is flushed, not closed.
+     *
+     * @return number of rows written
+     */
+    public int write(OutputStream out) throws IOException {
+        if (format == Format.BINARY) {
+            PertFile.Writer writer = new PertFile.Writer(Channels.newChannel(out));
+            int rows = writeBinary(writer);
+            out.flush();
+            return rows;
+        }
+        return writeText(new TextOutput(out));
+    }
+
+    /**
+     * Writes the table to a file.
+     *
+     * @return number of rows written
+     */
+    public int write(File f) throws IOException {
+        if (format == Format.BINARY) {
+            try (FileChannel fc = FileChannel.open(f.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                return writeBinary(new PertFile.Writer(fc));
+            }
+        }
+        try (OutputStream out = new FileOutputStream(f)) {
+            return writeText(new TextOutput(out));
+        }
+    }
+
+    private int writeText(TextOutput out) throws IOException {
+        char separator = format == Format.CSV ? ',' : '\t';
+        if (header) {
+            out.write('u').write(separator);
+            if (withDuration) {
+                out.write("Dur").write(separator);
+            }
+            out.write("EC").write(separator).write("LC").write(separator)
+                    .write("Slack").write(separator).write("Critical").write('\n');
+        }
+        int rows = 0;
+        for (int u = 0; u < slack.length; u++) {
+            if (slack[u] > maxSlack) {
+                continue;
+            }
+            out.write(u + 1).write(separator);
+            if (withDuration) {
+                out.write(duration[u]).write(separator);
+            }
+            out.write(es[u]).write(separator).write(lf[u]).write(separator)
+                    .write(slack[u]).write(separator).write(slack[u] == 0 ? "true" : "false").write('\n');
+            rows++;
+        }
+        out.flush();
+        return rows;
+    }
+
+    private int writeBinary(PertFile.Writer out) throws IOException {
+        int rows = 0;
+        for (int s : slack) {
+            if (s <= maxSlack) {
+                rows++;
+            }
+        }
+        out.put(MAGIC);
+        out.put(VERSION);
+        out.put(rows);
+        for (int u = 0; u < slack.length; u++) {
+            if (slack[u] <= maxSlack) {
+                out.put(u + 1);
+            }
+        }
+        for (int[] column : new int[][] {duration, es, lf, slack}) {
+            for (int u = 0; u < slack.length; u++) {
+                if (slack[u] <= maxSlack) {
+                    out.put(column[u]);
+                }
+            }
+        }
+        out.flush();
+        return rows;
+    }
+
+    /**
+     * Writes the schedule of a project.  Usage: ScheduleWriter input [output] [maxSlack]
+     * The format follows the output extension (.tsv, .csv, .bin); output "-" is standard output.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.out.println("Usage: ScheduleWriter input [output] [maxSlack]");
+            return;
+        }
+        CompactPERT p;
+        if (args[0].endsWith(".pert")) {
+            p = PertFile.load(new File(args[0])).pert();
+        } else {
+            GraphReader reader = GraphReader.read(new File(args[0]));
+            p = CompactPERT.pert(reader.compactGraph(), reader.durations());
+        }
+        if (p == null) {
+            System.out.println("Invalid graph: not a DAG");
+            return;
+        }
+        String output = args.length > 1 ? args[1] : "-";
+        ScheduleWriter writer = p.scheduleWriter();
+        if (args.length > 2) {
+            writer.maxSlack(Integer.parseInt(args[2]));
+        }
+        writer.format(output.endsWith(".csv") ? Format.CSV : output.endsWith(".bin") ? Format.BINARY : Format.TSV);
+
+        long start = System.nanoTime();
+        int rows;
+        if (output.equals("-")) {
+            rows = writer.write(System.out);
+        } else {
+            rows = writer.write(new File(output));
+        }
+        System.err.println("Wrote " + rows + " rows in " + (System.nanoTime() - start) / 1000000 + " msec.");
+    }
+}
@@ -0,0 +1,426 @@
+// Change to your Folder name
+package ______;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Online PERT over an append-only stream of tasks, in which every task arrives
+ * after all of its predecessors, together with the list of them:
+ *
+ *     id duration successors k p1 ... pk
+ *
+ * The ES of a task is final when it arrives, so ES/EF are computed on the fly
+ * and the running project completion time can be reported after every task.
+ * Only the frontier is kept in memory: the EF of each task that still has
+ * successors to come. A task leaves the frontier once the number of successors
+ * it declared have referenced it; a task declaring UNKNOWN successors stays
+ * until the end of the stream.
+ *
+ * If a log file is given, each task (id, duration, ES, predecessors) is also
+ * appended to it in blocks of little-endian ints, each block followed by its
+ * length in bytes. backward() reads the log block by block from the end, i.e.
+ * the tasks in reverse topological order, and computes LS/LF/slack, keeping in
+ * memory only the pending LF of the tasks whose successors have been read.
+ */
+public class StreamingPERT implements AutoCloseable {
+    /** Successor count of a task whose successors are not declared */
+    public static final int UNKNOWN = -1;
+
+    /** Size of a log block */
+    static final int BLOCK_SIZE = 1 << 16;
+
+    /** Receiver of the schedule of each task, in reverse stream order */
+    public interface Sink {
+        void task(int id, int duration, int es, int lf, int slack) throws IOException;
+    }
+
+    /** Frontier: EF and remaining successors of the tasks that still have successors to come */
+    private final IntTable frontier = new IntTable();
+
+    private final FileChannel log;
+    private ByteBuffer block;
+    private IntConsumer listener;
+
+    /** Sorted copy of the predecessors of a task, to detect duplicates; grows on demand */
+    private int[] sorted = new int[16];
+
+    private int completionTime;
+    private long tasks, edges;
+    private int maxFrontier;
+    private boolean finished;
+
+    /**
+     * @param log file receiving the task log for backward() (created or overwritten),
+     *            or null if only ES/EF are needed
+     * @throws IOException if the log cannot be created
+     */
+    public StreamingPERT(File log) throws IOException {
+        if (log != null) {
+            this.log = FileChannel.open(log.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            block = ByteBuffer.allocateDirect(BLOCK_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        } else {
+            this.log = null;
+        }
+    }
+
+    /** Calls listener with the project completion time whenever it grows */
+    public StreamingPERT onCompletionTime(IntConsumer listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    /**
+     * Adds the next task of the stream.
+     *
+     * Task ids must be unique. Only an id still in the frontier is detected as a
+     * duplicate: remembering every id would take memory proportional to the whole
+     * stream. A task that has left the frontier (or declared 0 successors) and is
+     * sent again under the same id makes backward() merge the two tasks.
+     *
+     * @param id identifier of the task, at least 0
+     * @param successors number of edges that will leave the task, or UNKNOWN
+     * @param predecessors predecessors[0..count-1] are the ids of the predecessors
+     * @return the EF of the task
+     * @throws IllegalArgumentException if the id is negative or still in the frontier, or
+     *         a predecessor is negative, listed twice or not in the frontier (unknown, or
+     *         all its declared successors have already arrived). A rejected task leaves
+     *         the frontier unchanged, so it can be sent again corrected.
+     * @throws IOException if the log cannot be written
+     */
+    public int addTask(int id, int duration, int successors, int[] predecessors, int count) throws IOException {
+        if (finished) {
+            throw new IllegalStateException("The stream is finished.");
+        }
+        if (id < 0 || successors < UNKNOWN || frontier.find(id) >= 0) {
+            throw new IllegalArgumentException("Invalid or duplicate task " + id + ".");
+        }
+        for (int i = 0; i < count; i++) {
+            if (predecessors[i] < 0) {
+                throw new IllegalArgumentException("Invalid predecessor " + predecessors[i] + " of task " + id + ".");
+            }
+        }
+        // A predecessor listed twice would use up two of its declared successors
+        if (count > 1) {
+            if (sorted.length < count) {
+                sorted = new int[Math.max(count, 2 * sorted.length)];
+            }
+            System.arraycopy(predecessors, 0, sorted, 0, count);
+            Arrays.sort(sorted, 0, count);
+            for (int i = 1; i < count; i++) {
+                if (sorted[i] == sorted[i - 1]) {
+                    throw new IllegalArgumentException("Predecessor " + sorted[i] + " of task " + id
+                            + " is listed twice.");
+                }
+            }
+        }
+        // Check every predecessor before changing the frontier, so that a rejected task
+        // uses up none of them
+        int start = 0;
+        for (int i = 0; i < count; i++) {
+            int p = predecessors[i];
+            int slot = frontier.find(p);
+            if (slot < 0) {
+                throw new IllegalArgumentException("Predecessor " + p + " of task " + id
+                        + " is not in the frontier.");
+            }
+            start = Math.max(start, frontier.first[slot]); // ES = max EF of predecessors
+        }
+        // Removals move other keys, so the slots are looked up again
+        for (int i = 0; i < count; i++) {
+            int slot = frontier.find(predecessors[i]);
+            if (frontier.second[slot] != UNKNOWN && --frontier.second[slot] == 0) {
+                frontier.remove(slot); // All successors of p have arrived
+            }
+        }
+        int finish = start + duration;
+        if (successors != 0) {
+            frontier.put(id, finish, successors);
+            maxFrontier = Math.max(maxFrontier, frontier.size);
+        }
+        if (log != null) {
+            append(id, duration, start, predecessors, count);
+        }
+        tasks++;
+        edges += count;
+        if (finish > completionTime) {
+            completionTime = finish;
+            if (listener != null) {
+                listener.accept(finish);
+            }
+        }
+        return finish;
+    }
+
+    // Append a task to the current log block, writing the block out when it is full
+    private void append(int id, int duration, int start, int[] predecessors, int count) throws IOException {
+        int bytes = 4 * (4 + count);
+        if (block.remaining() < bytes + 4) {
+            flushBlock();
+            if (block.capacity() < bytes + 4) {
+                block = ByteBuffer.allocateDirect(bytes + 4).order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+        block.putInt(id).putInt(duration).putInt(start).putInt(count);
+        for (int i = 0; i < count; i++) {
+            block.putInt(predecessors[i]);
+        }
+    }
+
+    // Write the current block, followed by its length
+    private void flushBlock() throws IOException {
+        if (block.position() == 0) {
+            return;
+        }
+        block.putInt(block.position());
+        block.flip();
+        while (block.hasRemaining()) {
+            log.write(block);
+        }
+        block.clear();
+    }
+
+    /**
+     * Ends the stream, writing out the log.
+     *
+     * @return the project completion time
+     * @throws IllegalStateException if tasks are still waiting for declared successors
+     * @throws IOException if the log cannot be written
+     */
+    public int finish() throws IOException {
+        if (!finished) {
+            finished = true;
+            if (log != null) {
+                flushBlock();
+            }
+        }
+        int waiting = 0;
+        for (int slot = 0; slot < frontier.keys.length; slot++) {
+            if (frontier.keys[slot] != IntTable.EMPTY && frontier.second[slot] != UNKNOWN) {
+                waiting++;
+            }
+        }
+        if (waiting > 0) {
+            throw new IllegalStateException(waiting + " tasks are still waiting for declared successors.");
+        }
+        return completionTime;
+    }
+
+    /**
+     * Backward pass over the log: computes LF, LS and slack of every task and
+     * hands them to sink, in reverse stream order.
+     *
+     * @throws IllegalStateException if there is no log or the stream is not finished
+     * @throws IOException if the log cannot be read, or sink fails
+     */
+    public void backward(Sink sink) throws IOException {
+        if (log == null || !finished) {
+            throw new IllegalStateException("backward() needs a log and a finished stream.");
+        }
+        IntTable pending = new IntTable();  // LF of tasks whose successors have been read
+        ByteBuffer in = ByteBuffer.allocate(BLOCK_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer trailer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        int[] starts = new int[BLOCK_SIZE / 16];
+        long position = log.size();
+        while (position > 0) {
+            trailer.clear();
+            readFully(trailer, position - 4);
+            int length = trailer.getInt(0);
+            position -= 4 + length;
+            if (in.capacity() < length) {
+                in = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            in.clear().limit(length);
+            readFully(in, position);
+
+            // Find the records of the block, then go through them backward
+            int records = 0;
+            for (int offset = 0; offset < length; offset += 4 * (4 + in.getInt(offset + 12))) {
+                if (records == starts.length) {
+                    starts = Arrays.copyOf(starts, 2 * records);
+                }
+                starts[records++] = offset;
+            }
+            for (int r = records - 1; r >= 0; r--) {
+                int offset = starts[r];
+                int id = in.getInt(offset), duration = in.getInt(offset + 4);
+                int start = in.getInt(offset + 8), count = in.getInt(offset + 12);
+                int slot = pending.find(id);
+                int finish = completionTime;
+                if (slot >= 0) {
+                    finish = pending.first[slot]; // LF = min LS of successors
+                    pending.remove(slot);
+                }
+                int latestStart = finish - duration;
+                sink.task(id, duration, start, finish, finish - start - duration);
+                for (int i = 0; i < count; i++) {
+                    int p = in.getInt(offset + 16 + 4 * i);
+                    int s = pending.find(p);
+                    if (s < 0) {
+                        pending.put(p, latestStart, 0);
+                    } else if (latestStart < pending.first[s]) {
+                        pending.first[s] = latestStart;
+                    }
+                }
+            }
+        }
+    }
+
+    private void readFully(ByteBuffer dst, long position) throws IOException {
+        while (dst.hasRemaining()) {
+            int count = log.read(dst, position);
+            if (count < 0) {
+                throw new IOException("Truncated log.");
+            }
+            position += count;
+        }
+    }
+
+    // Project completion time of the tasks so far
+    public int completionTime() {
+        return completionTime;
+    }
+
+    // Number of tasks so far
+    public long taskCount() {
+        return tasks;
+    }
+
+    // Number of edges so far
+    public long edgeCount() {
+        return edges;
+    }
+
+    // Largest number of tasks held in the frontier
+    public int maxFrontierSize() {
+        return maxFrontier;
+    }
+
+    public void close() throws IOException {
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    /**
+     * Open-addressing table from task ids (at least 0) to two int values, with
+     * linear probing and backward-shift deletion.
+     */
+    static class IntTable {
+        static final int EMPTY = -1;
+
+        int[] keys, first, second;
+        int size;
+
+        /** 32 - log2(capacity): the slot of a key is the top bits of its hash */
+        private int shift;
+
+        IntTable() {
+            allocate(16);
+        }
+
+        private void allocate(int capacity) {
+            keys = new int[capacity];
+            first = new int[capacity];
+            second = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+            shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        }
+
+        // Fibonacci hashing; the top bits of the product depend on all bits of the key,
+        // so ids sharing their low bits (e.g. multiples of a power of 2) do not collide
+        private int slot(int key) {
+            return (key * 0x9E3779B9) >>> shift;
+        }
+
+        /** Slot of key (at least 0), or -1 */
+        int find(int key) {
+            for (int i = slot(key); ; i = (i + 1) & (keys.length - 1)) {
+                if (keys[i] == key) {
+                    return i;
+                }
+                if (keys[i] == EMPTY) {
+                    return -1;
+                }
+            }
+        }
+
+        /** Inserts a key that is not in the table */
+        void put(int key, int a, int b) {
+            if (2 * (size + 1) > keys.length) {
+                int[] oldKeys = keys, oldFirst = first, oldSecond = second;
+                allocate(2 * keys.length);
+                size = 0;
+                for (int i = 0; i < oldKeys.length; i++) {
+                    if (oldKeys[i] != EMPTY) {
+                        put(oldKeys[i], oldFirst[i], oldSecond[i]);
+                    }
+                }
+            }
+            int i = slot(key);
+            while (keys[i] != EMPTY) {
+                i = (i + 1) & (keys.length - 1);
+            }
+            keys[i] = key;
+            first[i] = a;
+            second[i] = b;
+            size++;
+        }
+
+        /** Removes the key at slot i, moving back later keys of its probe run */
+        void remove(int i) {
+            int mask = keys.length - 1;
+            for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+                int home = slot(keys[j]);
+                // Move keys[j] into the hole at i unless its home lies cyclically in (i, j]
+                if (((j - home) & mask) >= ((j - i) & mask)) {
+                    keys[i] = keys[j];
+                    first[i] = first[j];
+                    second[i] = second[j];
+                    i = j;
+                }
+            }
+            keys[i] = EMPTY;
+            size--;
+        }
+    }
+
+    /**
+     * Runs PERT on a task stream read from a file, or from standard input if the
+     * input is "-" or missing. With a log file, the backward pass is run too.
+     * Usage: StreamingPERT [input] [log]
+     */
+    public static void main(String[] args) throws Exception {
+        boolean stdin = args.length == 0 || args[0].equals("-");
+        File logFile = args.length > 1 ? new File(args[1]) : null;
+        long start = System.nanoTime();
+        try (InputStream in = stdin ? System.in : new FileInputStream(args[0]);
+             StreamingPERT p = new StreamingPERT(logFile)) {
+            GraphReader.stream(in, p);
+            int completion = p.finish();
+            long elapsed = System.nanoTime() - start;
+            System.out.println("Critical Path Length: " + completion + " in " + (elapsed / 1000000) + " msec. Tasks: "
+                    + p.taskCount() + ", edges: " + p.edgeCount() + ", max frontier: " + p.maxFrontierSize());
+            if (logFile != null) {
+                long[] critical = new long[1];
+                start = System.nanoTime();
+                p.backward((id, duration, es, lf, slack) -> {
+                    if (slack == 0) {
+                        critical[0]++;
+                    }
+                });
+                System.out.println("Critical tasks: " + critical[0] + ", backward pass in "
+                        + (System.nanoTime() - start) / 1000000 + " msec.");
+            }
+        }
+    }
+}
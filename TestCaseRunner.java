@@ -2,11 +2,18 @@
 package ______;
 
 import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Scanner;
 
 public class TestCaseRunner {
-  public static void main(String[] args) {
+  public static void main(String[] args) throws Exception {
+    // Non-interactive mode: --batch [directory] [report.tsv] [cpuThreads [maxInFlight]]
+    if (args.length > 0 && args[0].equals("--batch")) {
+      BatchRunner.main(Arrays.copyOfRange(args, 1, args.length));
+      return;
+    }
+
     // Directory containing the test cases
     String testCaseDir = "p4-testcases/";
 
@@ -40,28 +47,18 @@ public class TestCaseRunner {
     // Run the selected test case
     try {
       runTestCase(selectedTestCase);
-    } catch (FileNotFoundException e) {
-      System.err.println("Error: Test case file not found - " + e.getMessage());
+    } catch (IOException e) {
+      System.err.println("Error: Test case file could not be read - " + e.getMessage());
     }
   }
 
-  private static void runTestCase(File testCaseFile) throws FileNotFoundException {
-    // Read the selected test case
-    Scanner in = new Scanner(testCaseFile);
-
-    // Read the graph structure from the file
-    Graph g = Graph.readDirectedGraph(in);
+  private static void runTestCase(File testCaseFile) throws IOException {
+    // Read the graph structure and the durations of the vertices in one pass
+    GraphReader reader = GraphReader.read(testCaseFile);
+    System.out.println(reader);
+    Graph g = reader.graph();
     g.printGraph(false);
-
-    // Read durations for the vertices
-    int[] duration = new int[g.size()];
-    for (int i = 0; i < g.size(); i++) {
-      if (in.hasNextInt()) {
-        duration[i] = in.nextInt();
-      } else {
-        throw new IllegalArgumentException("Duration array size mismatch in test case.");
-      }
-    }
+    int[] duration = reader.durations();
 
     // Run PERT
     PERT p = PERT.pert(g, duration);
@@ -69,11 +66,10 @@ public class TestCaseRunner {
       System.out.println("Invalid graph: not a DAG.");
     } else {
       System.out.println("Number of critical vertices: " + p.numCritical());
-      System.out.println("u\tEC\tLC\tSlack\tCritical");
-      for (Graph.Vertex u : g) {
-        System.out.println(u + "\t" + p.ec(u) + "\t" + p.lc(u) + "\t" + p.slack(u) + "\t" + p.critical(u));
-      }
+      p.scheduleWriter().withDuration(false).write(System.out);
       System.out.println("Critical Path Length: " + p.criticalPath());
+      p.metrics().record(PERTMetrics.Phase.READ, reader.nanos, g.size(), g.edgeSize(), -1);
+      System.out.println(p.metrics());
     }
   }
 }
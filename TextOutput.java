@@ -0,0 +1,91 @@
+// Change to your Folder name
+package ______;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Buffered writer of ASCII text for large outputs (generated project files,
+ * schedule tables). Integers are formatted straight into a reusable byte buffer,
+ * so no String is created per value.
+ */
+public class TextOutput implements AutoCloseable {
+    /** Default buffer size */
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int position;
+
+    // Scratch space for the digits of one number
+    private final byte[] digits = new byte[20];
+
+    public TextOutput(OutputStream out) {
+        this(out, BUFFER_SIZE);
+    }
+
+    public TextOutput(OutputStream out, int bufferSize) {
+        this.out = out;
+        this.buffer = new byte[Math.max(bufferSize, 64)];
+    }
+
+    /** Write one ASCII character */
+    public TextOutput write(char c) throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = (byte) c;
+        return this;
+    }
+
+    /** Write an ASCII string */
+    public TextOutput write(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            write(s.charAt(i));
+        }
+        return this;
+    }
+
+    /** Write a decimal integer */
+    public TextOutput write(long value) throws IOException {
+        if (buffer.length - position < 21) {
+            flushBuffer();
+        }
+        if (value < 0) {
+            buffer[position++] = '-';
+            if (value == Long.MIN_VALUE) {
+                // -Long.MIN_VALUE overflows; emit the last digit separately
+                write(-(value / 10));
+                buffer[position++] = '8';
+                return this;
+            }
+            value = -value;
+        }
+        int count = 0;
+        do {
+            digits[count++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        while (count > 0) {
+            buffer[position++] = digits[--count];
+        }
+        return this;
+    }
+
+    /** Write the buffered bytes to the underlying stream and flush it */
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    /** Flush and close the underlying stream */
+    public void close() throws IOException {
+        flush();
+        out.close();
+    }
+
+    private void flushBuffer() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+}
@@ -0,0 +1,95 @@
+// Change to your Folder name
+package ______;
+
+/**
+ * Non-recursive depth-first topological sort of a CompactGraph.
+ *
+ * The DFS keeps its own stack of vertex indices and a cursor into the CSR
+ * out-adjacency of each vertex, so arbitrarily deep graphs (e.g. long chains)
+ * can be sorted without growing the thread stack. All working storage is
+ * allocated once, up front. If the graph has a cycle, the vertices of one
+ * cycle are reported instead of an order.
+ */
+public class TopologicalSort {
+    /** DFS states of a vertex */
+    private static final byte NEW = 0, ON_STACK = 1, FINISHED = 2;
+
+    private final CompactGraph g;
+
+    /** Vertex indices in topological order, or null if a cycle was found */
+    private int[] order;
+
+    /** Vertex indices of a cycle, or null if the graph is a DAG */
+    private int[] cycle;
+
+    public TopologicalSort(CompactGraph g) {
+        this.g = g;
+    }
+
+    /**
+     * Runs the DFS. Vertices are visited in index order and edges in CSR order,
+     * so the result is the same as that of a recursive DFS over the graph.
+     *
+     * @return true if the graph is a DAG, false if a cycle was found
+     */
+    public boolean sort() {
+        int n = g.size();
+        int[] outOffsets = g.outOffsets, outTargets = g.outTargets;
+        byte[] state = new byte[n];
+        int[] stack = new int[n];   // vertices on the DFS path, stack[0] is the root
+        int[] cursor = new int[n];  // next out-edge position to explore for each vertex
+        int[] result = new int[n];
+        int next = n;               // result is filled from the end as vertices finish
+
+        for (int s = 0; s < n; s++) {
+            if (state[s] != NEW) {
+                continue;
+            }
+            int top = 0;
+            stack[top++] = s;
+            state[s] = ON_STACK;
+            cursor[s] = outOffsets[s];
+            while (top > 0) {
+                int u = stack[top - 1];
+                if (cursor[u] < outOffsets[u + 1]) {
+                    int v = outTargets[cursor[u]++];
+                    if (state[v] == NEW) {
+                        state[v] = ON_STACK;
+                        cursor[v] = outOffsets[v];
+                        stack[top++] = v;
+                    } else if (state[v] == ON_STACK) {
+                        // Back edge u -> v: the path from v to u on the stack closes a cycle
+                        int i = top - 1;
+                        while (stack[i] != v) {
+                            i--;
+                        }
+                        cycle = new int[top - i];
+                        System.arraycopy(stack, i, cycle, 0, top - i);
+                        order = null;
+                        return false;
+                    }
+                } else {
+                    state[u] = FINISHED;
+                    result[--next] = u;
+                    top--;
+                }
+            }
+        }
+        order = result;
+        cycle = null;
+        return true;
+    }
+
+    /** Vertex indices in topological order, or null if the graph is not a DAG */
+    public int[] order() {
+        return order;
+    }
+
+    /**
+     * Vertex indices of a cycle v1, v2, ..., vk such that the graph has the
+     * edges v1->v2, ..., v(k-1)->vk and vk->v1; null if the graph is a DAG.
+     */
+    public int[] cycle() {
+        return cycle;
+    }
+}
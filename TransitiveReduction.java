@@ -0,0 +1,301 @@
+// Change to your Folder name
+package ______;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transitive reduction of a DAG: removes every edge u -> v for which another path
+ * from u to v exists (e.g. A -> C when A -> B -> C is present), and duplicate edges.
+ *
+ * With durations of at least 0, the EF of the last task before v on such a path is
+ * at least EF(u), so removing the edge changes no ES, EF, LS, LF or slack: PERT on
+ * the reduced graph gives the same results with fewer edges to scan. This does not
+ * hold with lags (PERT.pert(g, duration, true)).
+ *
+ * Reachability is kept as one bitset row per vertex, filled in reverse topological
+ * order: the successors of u are visited by increasing topological position, and
+ * u -> v is redundant if v is already reachable through an earlier successor. The
+ * columns (vertices by topological position) are split into blocks whose rows fit
+ * in blockBytes per worker; each block is an independent pass over the rows that
+ * can reach it, and the blocks run in parallel. Blocks narrower than 64 columns
+ * pack several rows into a long, so a worker needs more than blockBytes only if
+ * blockBytes is below n/8 bytes (one bit per vertex). Each edge is decided by the block
+ * holding its head, so the workers never write the same edge. The total work is
+ * O(n m / 64) word operations.
+ */
+public class TransitiveReduction {
+    /** Default memory for the bitset rows of one block */
+    public static final int DEFAULT_BLOCK_BYTES = 1 << 24;
+
+    private final CompactGraph g;
+    private final int[] order;
+    private final int[] position;
+
+    /** Out-edge positions (CSR) of each vertex, sorted by topological position of the head */
+    private final int[] sorted;
+
+    /** redundant[k] is true if the out-edge at CSR position k is removed */
+    private final boolean[] redundant;
+    private int removed;
+
+    private TransitiveReduction(CompactGraph g, int[] order) {
+        this.g = g;
+        this.order = order;
+        int n = g.size(), m = g.edgeSize();
+        position = new int[n];
+        for (int i = 0; i < n; i++) {
+            position[order[i]] = i;
+        }
+        int[] outOffsets = g.outOffsets, outTargets = g.outTargets;
+        long[] keys = new long[m];
+        for (int k = 0; k < m; k++) {
+            keys[k] = (long) position[outTargets[k]] << 32 | k;
+        }
+        sorted = new int[m];
+        for (int u = 0; u < n; u++) {
+            int lo = outOffsets[u], hi = outOffsets[u + 1];
+            if (hi - lo > 1) {
+                Arrays.sort(keys, lo, hi);
+            }
+            for (int k = lo; k < hi; k++) {
+                sorted[k] = (int) keys[k];
+            }
+        }
+        redundant = new boolean[m];
+    }
+
+    /**
+     * Computes the transitive reduction of a DAG.
+     *
+     * @param pool the pool running the blocks
+     * @param blockBytes memory for the bitset rows of one block
+     * @return the reduction, or null if the graph is not a DAG
+     */
+    public static TransitiveReduction reduce(CompactGraph g, ForkJoinPool pool, int blockBytes) {
+        if (g == null || pool == null || blockBytes < 1) {
+            throw new IllegalArgumentException("Invalid graph, pool or block size.");
+        }
+        int[] order = g.topologicalOrder();
+        if (order == null) {
+            return null;
+        }
+        TransitiveReduction r = new TransitiveReduction(g, order);
+        r.run(pool, blockBytes);
+        return r;
+    }
+
+    /** Computes the transitive reduction on the common pool */
+    public static TransitiveReduction reduce(CompactGraph g) {
+        return reduce(g, ForkJoinPool.commonPool(), DEFAULT_BLOCK_BYTES);
+    }
+
+    // Split the columns into blocks and let the workers take them one at a time
+    private void run(ForkJoinPool pool, int blockBytes) {
+        int n = g.size();
+        if (n == 0) {
+            return;
+        }
+        // Columns per block: a multiple of 64, or a power of two below 64, so that n rows fit
+        long budget = Math.max(1, 8L * blockBytes / n);
+        int width = budget >= 64 ? 64 * (int) Math.min((n + 63) / 64, budget / 64)
+                : Integer.highestOneBit((int) budget);
+        int blocks = (n + width - 1) / width;
+        int length = (int) (((long) n * width + 63) / 64);
+        AtomicInteger next = new AtomicInteger();
+        int workers = Math.min(blocks, pool.getParallelism());
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            tasks.add(pool.submit(() -> {
+                long[] rows = new long[length];
+                for (int b; (b = next.getAndIncrement()) < blocks; ) {
+                    int c0 = b * width, c1 = (int) Math.min(n, (long) c0 + width);
+                    if (width >= 64) {
+                        reduceBlock(rows, width / 64, c0, c1);
+                    } else {
+                        reduceNarrowBlock(rows, width, c0, c1);
+                    }
+                }
+            }));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+        int count = 0;
+        for (boolean r : redundant) {
+            if (r) {
+                count++;
+            }
+        }
+        removed = count;
+    }
+
+    /**
+     * Decides the edges whose head is at a topological position in [c0, c1).
+     * rows[i * words ..] holds the vertices in [c0, c1) reachable from order[i].
+     */
+    private void reduceBlock(long[] rows, int words, int c0, int c1) {
+        int[] outOffsets = g.outOffsets, outTargets = g.outTargets;
+        // Vertices after c1 in topological order reach no vertex of the block
+        for (int i = c1 - 1; i >= 0; i--) {
+            int u = order[i], row = i * words;
+            Arrays.fill(rows, row, row + words, 0L);
+            for (int s = outOffsets[u], end = outOffsets[u + 1]; s < end; s++) {
+                int k = sorted[s];
+                int j = position[outTargets[k]];
+                if (j >= c1) {
+                    break; // Remaining heads are after the block too
+                }
+                if (j >= c0) {
+                    int bit = j - c0;
+                    long mask = 1L << bit;
+                    if ((rows[row + (bit >>> 6)] & mask) != 0) {
+                        redundant[k] = true; // Reachable through an earlier successor
+                        continue;
+                    }
+                    rows[row + (bit >>> 6)] |= mask;
+                }
+                int from = j * words;
+                for (int w = 0; w < words; w++) {
+                    rows[row + w] |= rows[from + w];
+                }
+            }
+        }
+    }
+
+    /**
+     * Decides the edges whose head is at a topological position in [c0, c1), for a
+     * block of width < 64 columns: the row of order[i] is bits i * width ..
+     * (i+1) * width - 1 of rows, and width divides 64.
+     */
+    private void reduceNarrowBlock(long[] rows, int width, int c0, int c1) {
+        int[] outOffsets = g.outOffsets, outTargets = g.outTargets;
+        int shift = Integer.numberOfTrailingZeros(64 / width); // rows per long, as a power of two
+        long mask = (1L << width) - 1;
+        for (int i = c1 - 1; i >= 0; i--) {
+            int u = order[i];
+            long row = 0;
+            for (int s = outOffsets[u], end = outOffsets[u + 1]; s < end; s++) {
+                int k = sorted[s];
+                int j = position[outTargets[k]];
+                if (j >= c1) {
+                    break; // Remaining heads are after the block too
+                }
+                if (j >= c0) {
+                    long bit = 1L << (j - c0);
+                    if ((row & bit) != 0) {
+                        redundant[k] = true; // Reachable through an earlier successor
+                        continue;
+                    }
+                    row |= bit;
+                }
+                row |= rows[j >>> shift] >>> ((j & ((1 << shift) - 1)) * width) & mask;
+            }
+            int at = (i & ((1 << shift) - 1)) * width;
+            rows[i >>> shift] = rows[i >>> shift] & ~(mask << at) | row << at;
+        }
+    }
+
+    // Number of edges removed
+    public int removedCount() {
+        return removed;
+    }
+
+    // Number of edges kept
+    public int keptCount() {
+        return g.edgeSize() - removed;
+    }
+
+    // Whether the out-edge at CSR position k of the original graph is removed
+    public boolean isRedundant(int k) {
+        return redundant[k];
+    }
+
+    // Topological order of the original graph, also valid for the reduced graph
+    public int[] order() {
+        return order;
+    }
+
+    /** The reduced graph, with the weights and precedence types of the kept edges */
+    public CompactGraph compactGraph() {
+        int n = g.size(), m = keptCount();
+        int[] from = new int[m], to = new int[m], weight = new int[m];
+        byte[] type = g.outTypes == null ? null : new byte[m];
+        int e = 0;
+        for (int u = 0; u < n; u++) {
+            for (int k = g.outOffsets[u], end = g.outOffsets[u + 1]; k < end; k++) {
+                if (!redundant[k]) {
+                    from[e] = u;
+                    to[e] = g.outTargets[k];
+                    weight[e] = g.outWeights[k];
+                    if (type != null) {
+                        type[e] = g.outTypes[k];
+                    }
+                    e++;
+                }
+            }
+        }
+        return new CompactGraph(n, m, from, to, weight, type);
+    }
+
+    /** The reduced graph as a Graph, with vertices of the same indices as the original */
+    public Graph graph() {
+        int n = g.size();
+        Graph reduced = new Graph(n, true);
+        for (int u = 0; u < n; u++) {
+            for (int k = g.outOffsets[u], end = g.outOffsets[u + 1]; k < end; k++) {
+                if (!redundant[k]) {
+                    Graph.Edge e = reduced.addEdge(u, g.outTargets[k], g.outWeights[k]);
+                    if (g.outTypes != null && g.outTypes[k] != PERT.FS) {
+                        e.setType(g.outTypes[k]);
+                    }
+                }
+            }
+        }
+        return reduced;
+    }
+
+    /**
+     * Reduces a project and checks that PERT gives the same completion time. The
+     * reduced graph is written as a .pert file (with its topological order), so
+     * later analyses run on it.  Usage: TransitiveReduction input [output.pert]
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.out.println("Usage: TransitiveReduction input [output.pert]");
+            return;
+        }
+        CompactGraph g;
+        int[] duration;
+        if (args[0].endsWith(".pert")) {
+            PertFile f = PertFile.load(new File(args[0]));
+            g = f.graph();
+            duration = f.durations();
+        } else {
+            GraphReader reader = GraphReader.read(new File(args[0]));
+            g = reader.compactGraph();
+            duration = reader.durations();
+        }
+
+        long start = System.nanoTime();
+        TransitiveReduction r = reduce(g);
+        long elapsed = System.nanoTime() - start;
+        if (r == null) {
+            System.out.println("Invalid graph: not a DAG");
+            return;
+        }
+        CompactGraph reduced = r.compactGraph();
+        System.out.println("Removed " + r.removedCount() + " of " + g.edgeSize() + " edges in "
+                + (elapsed / 1000000) + " msec. n: " + g.size() + ", m: " + reduced.edgeSize());
+        System.out.println("Critical Path Length: " + CompactPERT.pert(g, duration).criticalPath()
+                + " (original), " + CompactPERT.pert(reduced, duration, r.order()).criticalPath() + " (reduced)");
+        if (args.length > 1) {
+            PertFile.write(new File(args[1]), reduced, duration, r.order());
+        }
+    }
+}
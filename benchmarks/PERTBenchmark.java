@@ -0,0 +1,203 @@
+// Change to your Folder name
+package ______;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmarks for graph loading and the phases of PERT.
+ *
+ * Projects are either the shipped p4-testcases (p4-t2, p4-t3, p4-t4) or generated
+ * DAGs of one of these shapes, with size vertices (10^4 to 10^7):
+ * - chain:   1 -> 2 -> ... -> n
+ * - layered: sqrt(n) layers of sqrt(n) vertices, 4 edges from each vertex into the next layer
+ * - random:  4 edges from each vertex to random later vertices
+ * - wide:    one source and one sink around n-2 independent tasks
+ * The layered and random projects are written by DAGGenerator.
+ *
+ * Run with benchmarks/run-benchmarks.sh, which adds the gc profiler so that the
+ * allocation rate is reported next to the throughput. Select projects with
+ * -p project=p4-t3,random and benchmarks with a regular expression. By default
+ * the generated projects have 10^4 vertices, so that a full run stays short; larger
+ * ones are opt-in with -p size=100000,1000000,10000000 (10^7 needs the 8 GB heap
+ * of the fork, and the Scanner-based readGraph takes minutes per invocation).
+ * The size does not apply to the p4 test cases, which are rerun for each size.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class PERTBenchmark {
+    /** Directory of the shipped test cases, relative to the working directory */
+    static final String TEST_CASES = "p4-testcases/";
+
+    /** A project: graph, frozen graph and durations */
+    @State(Scope.Benchmark)
+    public static class Project {
+        @Param({"p4-t2", "p4-t3", "p4-t4", "chain", "layered", "random", "wide"})
+        String project;
+
+        /** Number of vertices of a generated project */
+        @Param({"10000"})
+        int size;
+
+        byte[] text;
+        Graph graph;
+        CompactGraph compact;
+        int[] duration;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            if (project.startsWith("p4-")) {
+                text = Files.readAllBytes(Paths.get(TEST_CASES + project + ".txt"));
+            } else {
+                text = generate(project, size);
+            }
+            GraphReader reader = GraphReader.read(new ByteArrayInputStream(text));
+            graph = reader.graph();
+            compact = reader.compactGraph();
+            duration = reader.durations();
+        }
+    }
+
+    /** A completed PERT run, whose phases are re-run by the phase benchmarks */
+    @State(Scope.Benchmark)
+    public static class Analysis {
+        PERT pert;
+        int completionTime;
+
+        @Setup(Level.Trial)
+        public void setup(Project p) {
+            pert = PERT.pert(p.graph, p.duration);
+            completionTime = pert.criticalPath();
+        }
+    }
+
+    @Benchmark
+    public Graph readGraph(Project p) {
+        return Graph.readDirectedGraph(new Scanner(new ByteArrayInputStream(p.text)));
+    }
+
+    @Benchmark
+    public GraphReader readGraphBytes(Project p) throws IOException {
+        return GraphReader.read(new ByteArrayInputStream(p.text));
+    }
+
+    @Benchmark
+    public int[] topologicalOrder(Analysis a) {
+        return a.pert.topologicalOrder();
+    }
+
+    @Benchmark
+    public PERT forwardPass(Analysis a) {
+        a.pert.forwardPass();
+        return a.pert;
+    }
+
+    @Benchmark
+    public PERT backwardPass(Analysis a) {
+        a.pert.backwardPass(a.completionTime);
+        return a.pert;
+    }
+
+    @Benchmark
+    public PERT calculateSlack(Analysis a) {
+        a.pert.calculateSlack();
+        return a.pert;
+    }
+
+    @Benchmark
+    public PERT pert(Project p) {
+        return PERT.pert(p.graph, p.duration);
+    }
+
+    @Benchmark
+    public CompactPERT compactPert(Project p) {
+        return CompactPERT.pert(p.compact, p.duration);
+    }
+
+    /** Generate a project of the given shape in the text input format */
+    static byte[] generate(String shape, int n) throws IOException {
+        if (shape.equals("layered") || shape.equals("random")) {
+            DAGGenerator generator = new DAGGenerator(n, 4L * n, n);
+            if (shape.equals("layered")) {
+                generator.layers((int) Math.max(1, Math.sqrt(n))).span(1);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream(16 * n);
+            generator.writeText(out);
+            return out.toByteArray();
+        }
+        Random random = new Random(n);
+        StringBuilder edges = new StringBuilder();
+        int m = 0;
+        switch (shape) {
+            case "chain":
+                for (int u = 1; u < n; u++) {
+                    edges.append(u).append(' ').append(u + 1).append(" 1\n");
+                    m++;
+                }
+                break;
+            case "wide":
+                for (int u = 2; u < n; u++) {
+                    edges.append(1).append(' ').append(u).append(" 1\n");
+                    edges.append(u).append(' ').append(n).append(" 1\n");
+                    m += 2;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown shape: " + shape);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(edges.length() + 8 * n);
+        byte[] header = (n + " " + m + "\n").getBytes(StandardCharsets.US_ASCII);
+        out.write(header, 0, header.length);
+        byte[] body = edges.toString().getBytes(StandardCharsets.US_ASCII);
+        out.write(body, 0, body.length);
+        StringBuilder durations = new StringBuilder();
+        for (int u = 0; u < n; u++) {
+            durations.append(1 + random.nextInt(100)).append(' ');
+        }
+        byte[] tail = durations.toString().getBytes(StandardCharsets.US_ASCII);
+        out.write(tail, 0, tail.length);
+        return out.toByteArray();
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(cmd);
+        // Includes are alternatives: add the class only if the command line selects nothing
+        if (cmd.getIncludes().isEmpty()) {
+            builder.include(PERTBenchmark.class.getSimpleName());
+        }
+        Options options = builder
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
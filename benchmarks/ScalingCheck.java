@@ -0,0 +1,81 @@
+// Change to your Folder name
+package ______;
+
+import java.util.Random;
+
+/**
+ * Scaling check of PERT.pert, from 10^4 up to 10^7 vertices.
+ *
+ * For each size, a chain and a random DAG (2 edges from each vertex to later
+ * vertices) are built as Graphs and analysed; the best of a few runs is reported
+ * in nanoseconds per vertex and edge. With the array-backed order both passes are
+ * linear, so this cost stays roughly flat as n grows (cache misses make the random
+ * DAGs somewhat slower per element at large n); an O(n^2) pass would multiply it
+ * by 10 at every step. The check fails if the cost per element at the largest
+ * size exceeds MAX_GROWTH times the cost at the smallest size above 10^4, or if a
+ * chain does not give the expected critical path.
+ *
+ * Does not need JMH. 10^7 vertices need about 4 GB of heap:
+ *     benchmarks/run-scaling-check.sh [maxSize]
+ */
+public class ScalingCheck {
+    /** Largest allowed growth of the cost per vertex and edge */
+    static final double MAX_GROWTH = 10;
+
+    static final int RUNS = 3;
+
+    public static void main(String[] args) {
+        int maxSize = args.length > 0 ? Integer.parseInt(args[0]) : 10000000;
+        boolean ok = true;
+        for (String shape : new String[] {"chain", "random"}) {
+            double first = 0, last = 0;
+            for (int n = 10000; n <= maxSize; n *= 10) {
+                Graph g = new Graph(n, true);
+                int[] duration = new int[n];
+                Random random = new Random(n);
+                long expected = 0;
+                for (int u = 0; u < n; u++) {
+                    duration[u] = 1 + random.nextInt(100);
+                    expected += duration[u];
+                    if (shape.equals("chain")) {
+                        if (u + 1 < n) {
+                            g.addEdge(u, u + 1, 1);
+                        }
+                    } else {
+                        for (int k = 0; k < 2 && u + 1 < n; k++) {
+                            g.addEdge(u, u + 1 + random.nextInt(Math.min(n - u - 1, 1000)), 1);
+                        }
+                    }
+                }
+
+                long best = Long.MAX_VALUE;
+                PERT p = null;
+                for (int run = 0; run < RUNS; run++) {
+                    long start = System.nanoTime();
+                    p = PERT.pert(g, duration);
+                    best = Math.min(best, System.nanoTime() - start);
+                }
+                double perElement = (double) best / (n + g.edgeSize());
+                System.out.printf("%-7s n = %8d, m = %8d: %7d msec, %6.1f ns per vertex and edge%n",
+                        shape, n, g.edgeSize(), best / 1000000, perElement);
+                if (shape.equals("chain") && p.criticalPath() != expected) {
+                    System.out.println("  wrong critical path " + p.criticalPath() + ", expected " + expected);
+                    ok = false;
+                }
+                // The smallest size is dominated by JIT warm-up, so growth is measured from the next one
+                if (n == 100000) {
+                    first = perElement;
+                }
+                last = perElement;
+            }
+            if (first > 0 && last > MAX_GROWTH * first) {
+                System.out.printf("  %s: cost per element grew %.1fx, more than %.0fx%n", shape, last / first, MAX_GROWTH);
+                ok = false;
+            }
+        }
+        System.out.println(ok ? "Scaling check passed." : "Scaling check FAILED.");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+}
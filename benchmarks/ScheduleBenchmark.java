@@ -0,0 +1,125 @@
+// Change to your Folder name
+package ______;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import ______.Graph.Vertex;
+
+/**
+ * Concurrency stress benchmark of schedule queries on published snapshots.
+ *
+ * A writer thread keeps changing task durations, updating PERT incrementally and
+ * publishing a new Schedule after each change. The benchmark threads query
+ * random tasks of the current snapshot. Each reader checks that versions never
+ * go backwards and that a snapshot is internally consistent (LF - slack of a
+ * task lies between its ES and the completion time). A violation fails the run.
+ *
+ * Reader throughput should grow linearly with the number of reader threads;
+ * compare runs with -t 1, -t 2, -t 4, ... up to the number of cores:
+ *   JMH_CP=... BENCHMARK=ScheduleBenchmark benchmarks/run-benchmarks.sh -t 4
+ * ScheduleStressCheck runs the same check without JMH and fails if the
+ * throughput does not scale.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScheduleBenchmark {
+    /** A project with a writer thread publishing new schedules */
+    @State(Scope.Benchmark)
+    public static class Published {
+        @Param({"10000", "1000000"})
+        int n;
+
+        final SchedulePublisher publisher = new SchedulePublisher();
+        private volatile boolean running;
+        private Thread writer;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            ByteArrayOutputStream text = new ByteArrayOutputStream();
+            new DAGGenerator(n, 4L * n, n).layers((int) Math.sqrt(n)).span(2).writeText(text);
+            GraphReader reader = GraphReader.read(new ByteArrayInputStream(text.toByteArray()));
+            Graph g = reader.graph();
+            int[] duration = reader.durations();
+            PERT pert = PERT.pert(g, duration);
+            publisher.publish(pert);
+
+            running = true;
+            writer = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(n);
+                while (running) {
+                    Vertex u = g.getVertex(1 + random.nextInt(n));
+                    pert.updateDuration(u, 1 + random.nextInt(100));
+                    publisher.publish(pert);
+                }
+            }, "schedule-writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            running = false;
+            writer.join();
+        }
+    }
+
+    /** Per-reader state: random task selection and the last version seen */
+    @State(Scope.Thread)
+    public static class Reader {
+        final SplittableRandom random = new SplittableRandom();
+        long lastVersion;
+    }
+
+    @Benchmark
+    public int query(Published p, Reader r) {
+        Schedule s = p.publisher.current();
+        if (s.version() < r.lastVersion) {
+            throw new IllegalStateException("Version went back from " + r.lastVersion + " to " + s.version());
+        }
+        r.lastVersion = s.version();
+        int u = r.random.nextInt(s.size());
+        int earliestFinish = s.lc(u) - s.slack(u);
+        if (s.lc(u) > s.criticalPath() || s.ec(u) > earliestFinish) {
+            throw new IllegalStateException("Inconsistent snapshot " + s.version() + " at task " + (u + 1));
+        }
+        return s.critical(u) ? earliestFinish : s.ec(u);
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(cmd);
+        // Includes are alternatives: add the class only if the command line selects nothing
+        if (cmd.getIncludes().isEmpty()) {
+            builder.include(ScheduleBenchmark.class.getSimpleName());
+        }
+        Options options = builder
+                .build();
+        new Runner(options).run();
+    }
+}
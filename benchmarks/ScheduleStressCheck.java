@@ -0,0 +1,123 @@
+// Change to your Folder name
+package ______;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+import ______.Graph.Vertex;
+
+/**
+ * Concurrency stress check of schedule queries on published snapshots, without JMH.
+ *
+ * A writer thread keeps changing task durations, updating PERT incrementally and
+ * publishing a new Schedule after each change. For 1, 2, 4, ... reader threads (up
+ * to the cores left next to the writer), the readers query random tasks of the
+ * current snapshot for a fixed time. Each reader checks that versions never go
+ * backwards and that a snapshot is internally consistent (as ScheduleBenchmark).
+ *
+ * The check fails on any violation, or if the query throughput of t readers is
+ * below MIN_EFFICIENCY * t times that of one reader. With fewer than 3 cores only
+ * one reader runs, and scaling is not checked.
+ *     benchmarks/run-stress-check.sh [n [msecPerStep]]
+ */
+public class ScheduleStressCheck {
+    /** Smallest allowed speedup of t readers, as a fraction of t */
+    static final double MIN_EFFICIENCY = 0.5;
+
+    public static void main(String[] args) throws Exception {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 2000;
+
+        ByteArrayOutputStream text = new ByteArrayOutputStream();
+        new DAGGenerator(n, 4L * n, n).layers((int) Math.sqrt(n)).span(2).writeText(text);
+        GraphReader reader = GraphReader.read(new ByteArrayInputStream(text.toByteArray()));
+        Graph g = reader.graph();
+        PERT pert = PERT.pert(g, reader.durations());
+        SchedulePublisher publisher = new SchedulePublisher();
+        publisher.publish(pert);
+
+        AtomicReference<String> failure = new AtomicReference<>();
+        long[] publishes = new long[1], publishNanos = new long[1];
+        Thread writer = new Thread(() -> {
+            SplittableRandom random = new SplittableRandom(n);
+            while (!Thread.currentThread().isInterrupted()) {
+                Vertex u = g.getVertex(1 + random.nextInt(n));
+                pert.updateDuration(u, 1 + random.nextInt(100));
+                long start = System.nanoTime();
+                publisher.publish(pert);
+                publishNanos[0] += System.nanoTime() - start;
+                publishes[0]++;
+            }
+        }, "schedule-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        int maxReaders = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        double single = 0;
+        boolean ok = true;
+        for (int readers = 1; readers <= maxReaders; readers *= 2) {
+            double throughput = run(publisher, readers, millis, failure);
+            if (readers == 1) {
+                single = throughput;
+            }
+            double speedup = throughput / single;
+            System.out.printf("%2d readers: %10.0f queries/msec, speedup %4.1f%n", readers, throughput, speedup);
+            if (speedup < MIN_EFFICIENCY * readers) {
+                System.out.printf("  speedup below %.1f x %d readers%n", MIN_EFFICIENCY, readers);
+                ok = false;
+            }
+        }
+        writer.interrupt();
+        writer.join();
+        if (maxReaders == 1) {
+            System.out.println("Fewer than 3 cores: reader scaling not checked.");
+        }
+        System.out.printf("n = %d: %d snapshots published, %.1f usec per publication%n",
+                n, publishes[0], publishes[0] == 0 ? 0 : publishNanos[0] / 1000.0 / publishes[0]);
+        if (failure.get() != null) {
+            System.out.println("  " + failure.get());
+            ok = false;
+        }
+        System.out.println(ok ? "Stress check passed." : "Stress check FAILED.");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    // Runs the readers for millis msec; returns the total queries per msec
+    private static double run(SchedulePublisher publisher, int readers, long millis,
+                              AtomicReference<String> failure) throws InterruptedException {
+        long[] queries = new long[readers];
+        Thread[] threads = new Thread[readers];
+        long end = System.nanoTime() + millis * 1000000;
+        for (int t = 0; t < readers; t++) {
+            int id = t;
+            threads[t] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(id);
+                long lastVersion = 0, count = 0;
+                while ((count & 1023) != 0 || System.nanoTime() < end) {
+                    Schedule s = publisher.current();
+                    if (s.version() < lastVersion) {
+                        failure.compareAndSet(null, "Version went back from " + lastVersion + " to " + s.version());
+                    }
+                    lastVersion = s.version();
+                    int u = random.nextInt(s.size());
+                    if (s.lc(u) > s.criticalPath() || s.ec(u) > s.lc(u) - s.slack(u)) {
+                        failure.compareAndSet(null, "Inconsistent snapshot " + s.version() + " at task " + (u + 1));
+                    }
+                    count++;
+                }
+                queries[id] = count;
+            }, "schedule-reader-" + t);
+            threads[t].start();
+        }
+        long total = 0;
+        for (int t = 0; t < readers; t++) {
+            threads[t].join();
+            total += queries[t];
+        }
+        return (double) total / millis;
+    }
+}
@@ -0,0 +1,52 @@
+#!/bin/bash
+
+# Compile and run the JMH benchmarks in this directory.
+#
+# JMH_CP must hold the JMH jars: jmh-core, jmh-generator-annprocess and their
+# dependencies (jopt-simple, commons-math3).
+#
+# Usage: JMH_CP=<jars> [BENCHMARK=<class>] benchmarks/run-benchmarks.sh [JMH options]
+# BENCHMARK selects the benchmark class (default PERTBenchmark); a benchmark name
+# filter given as an option replaces the class, and is matched against the full
+# names of the benchmarks in all classes.
+# Example:
+#   JMH_CP=... benchmarks/run-benchmarks.sh -p project=p4-t3,random -p size=1000000 'forwardPass|backwardPass'
+#
+# Run from the project directory, so that p4-testcases/ is found.
+
+if [ -z "$JMH_CP" ]; then
+  echo "Set JMH_CP to the classpath of the JMH jars."
+  exit 1
+fi
+
+# The sources need JDK 21 or later. BatchRunner (also reached from TestCaseRunner)
+# uses virtual threads, and OffHeapPERT the Foreign Memory API, a preview API in
+# JDK 21 (final in JDK 22).
+JAVAC_VERSION=$(javac -version 2>&1 | sed -n 's/^javac \([0-9]*\).*/\1/p')
+if [ -z "$JAVAC_VERSION" ] || [ "$JAVAC_VERSION" -lt 21 ]; then
+  echo "JDK 21 or later is required; found: $(javac -version 2>&1)"
+  exit 1
+fi
+JAVAC_OPTS=""
+JAVA_OPTS=""
+if [ "$JAVAC_VERSION" -eq 21 ]; then
+  JAVAC_OPTS="--enable-preview --release 21"
+  JAVA_OPTS="--enable-preview"
+fi
+
+SRC_DIR=$(pwd)
+OUT_DIR="$SRC_DIR/benchmarks/out"
+
+rm -rf "$OUT_DIR"
+mkdir -p "$OUT_DIR"
+
+# Compile the sources together with the benchmarks; the JMH annotation processor generates the harness
+echo "Compiling benchmarks..."
+javac $JAVAC_OPTS -cp "$JMH_CP" -d "$OUT_DIR" "$SRC_DIR"/*.java "$SRC_DIR"/benchmarks/*.java
+if [ $? -ne 0 ]; then
+  echo "Compilation failed."
+  exit 1
+fi
+
+# PERTBenchmark.main adds the gc profiler (allocation rate) to the given options
+java $JAVA_OPTS -cp "$OUT_DIR:$JMH_CP" ______.${BENCHMARK:-PERTBenchmark} "$@"
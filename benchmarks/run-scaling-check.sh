@@ -0,0 +1,41 @@
+#!/bin/bash
+
+# Compile and run ScalingCheck: PERT.pert from 10^4 up to 10^7 vertices.
+# Does not need JMH. Exits with status 1 if the cost per vertex and edge grows
+# faster than linear time allows.
+#
+# Usage: benchmarks/run-scaling-check.sh [maxSize]
+# Example (a quick run up to 10^6 vertices):
+#   benchmarks/run-scaling-check.sh 1000000
+#
+# Run from the project directory.
+
+# The sources need JDK 21 or later. BatchRunner (also reached from TestCaseRunner)
+# uses virtual threads, and OffHeapPERT the Foreign Memory API, a preview API in
+# JDK 21 (final in JDK 22).
+JAVAC_VERSION=$(javac -version 2>&1 | sed -n 's/^javac \([0-9]*\).*/\1/p')
+if [ -z "$JAVAC_VERSION" ] || [ "$JAVAC_VERSION" -lt 21 ]; then
+  echo "JDK 21 or later is required; found: $(javac -version 2>&1)"
+  exit 1
+fi
+JAVAC_OPTS=""
+JAVA_OPTS=""
+if [ "$JAVAC_VERSION" -eq 21 ]; then
+  JAVAC_OPTS="--enable-preview --release 21"
+  JAVA_OPTS="--enable-preview"
+fi
+
+SRC_DIR=$(pwd)
+OUT_DIR="$SRC_DIR/benchmarks/out"
+
+rm -rf "$OUT_DIR"
+mkdir -p "$OUT_DIR"
+
+echo "Compiling scaling check..."
+javac $JAVAC_OPTS -d "$OUT_DIR" "$SRC_DIR"/*.java "$SRC_DIR"/benchmarks/ScalingCheck.java
+if [ $? -ne 0 ]; then
+  echo "Compilation failed."
+  exit 1
+fi
+
+java $JAVA_OPTS -Xmx4g -cp "$OUT_DIR" ______.ScalingCheck "$@"
@@ -0,0 +1,41 @@
+#!/bin/bash
+
+# Compile and run ScheduleStressCheck: concurrent queries on published schedules.
+# Does not need JMH. Exits with status 1 if a reader sees an inconsistent or older
+# snapshot, or if query throughput does not grow with the number of readers.
+#
+# Usage: benchmarks/run-stress-check.sh [n [msecPerStep]]
+# Example (a quick run on 10^5 tasks):
+#   benchmarks/run-stress-check.sh 100000 1000
+#
+# Run from the project directory.
+
+# The sources need JDK 21 or later. BatchRunner (also reached from TestCaseRunner)
+# uses virtual threads, and OffHeapPERT the Foreign Memory API, a preview API in
+# JDK 21 (final in JDK 22).
+JAVAC_VERSION=$(javac -version 2>&1 | sed -n 's/^javac \([0-9]*\).*/\1/p')
+if [ -z "$JAVAC_VERSION" ] || [ "$JAVAC_VERSION" -lt 21 ]; then
+  echo "JDK 21 or later is required; found: $(javac -version 2>&1)"
+  exit 1
+fi
+JAVAC_OPTS=""
+JAVA_OPTS=""
+if [ "$JAVAC_VERSION" -eq 21 ]; then
+  JAVAC_OPTS="--enable-preview --release 21"
+  JAVA_OPTS="--enable-preview"
+fi
+
+SRC_DIR=$(pwd)
+OUT_DIR="$SRC_DIR/benchmarks/out"
+
+rm -rf "$OUT_DIR"
+mkdir -p "$OUT_DIR"
+
+echo "Compiling stress check..."
+javac $JAVAC_OPTS -d "$OUT_DIR" "$SRC_DIR"/*.java "$SRC_DIR"/benchmarks/ScheduleStressCheck.java
+if [ $? -ne 0 ]; then
+  echo "Compilation failed."
+  exit 1
+fi
+
+java $JAVA_OPTS -Xmx2g -cp "$OUT_DIR" ______.ScheduleStressCheck "$@"
@@ -26,6 +26,21 @@ OUT_DIR=$(pwd)
 # Get the main class from arguments
 MAIN_CLASS="$1"
 
+# The sources need JDK 21 or later. BatchRunner (also reached from TestCaseRunner)
+# uses virtual threads, and OffHeapPERT the Foreign Memory API, a preview API in
+# JDK 21 (final in JDK 22).
+JAVAC_VERSION=$(javac -version 2>&1 | sed -n 's/^javac \([0-9]*\).*/\1/p')
+if [ -z "$JAVAC_VERSION" ] || [ "$JAVAC_VERSION" -lt 21 ]; then
+  echo "JDK 21 or later is required; found: $(javac -version 2>&1)"
+  exit 1
+fi
+JAVAC_OPTS=""
+JAVA_OPTS=""
+if [ "$JAVAC_VERSION" -eq 21 ]; then
+  JAVAC_OPTS="--enable-preview --release 21"
+  JAVA_OPTS="--enable-preview"
+fi
+
 # Clean old .class files
 echo "Cleaning old .class files in $OUT_DIR..."
 find "$OUT_DIR" -type f -name "*.class" -delete
@@ -33,7 +48,7 @@ echo "Old .class files removed."
 
 # Compile all Java files in the current directory
 echo "Compiling Java files in $SRC_DIR..."
-javac -d "$OUT_DIR" "$SRC_DIR"/*.java
+javac $JAVAC_OPTS -d "$OUT_DIR" "$SRC_DIR"/*.java
 if [ $? -ne 0 ]; then
   echo "Compilation failed."
   exit 1
@@ -43,5 +58,5 @@ echo "Compilation successful. Classes saved in $OUT_DIR."
 # Run the specified main class, if provided
 if [ -n "$MAIN_CLASS" ]; then
   echo "Running main class: $MAIN_CLASS"
-  java -cp "$OUT_DIR" "$MAIN_CLASS"
+  java $JAVA_OPTS -cp "$OUT_DIR" "$MAIN_CLASS"
 fi